@@ -11,8 +11,8 @@ public class DifficultyConfig {
     
     public DifficultyConfig(String difficulty) {
         this.difficulty = difficulty;
-        logger.info("DifficultyConfig created: difficulty={}, autoSelection={}, timer={}", 
-                   difficulty, hasAutoSelection(), hasTimer());
+        logger.info("DifficultyConfig created: difficulty={}, autoSelection={}, timer={}, searchAI={}", 
+                   difficulty, hasAutoSelection(), hasTimer(), hasSearchAI());
     }
     
     public boolean hasAutoSelection() {
@@ -32,6 +32,24 @@ public class DifficultyConfig {
         return 0f;
     }
     
+    // Hard and Pedrado opponents search their moves instead of playing their first card
+    public boolean hasSearchAI() {
+        return "Hard".equalsIgnoreCase(difficulty) || "Pedrado".equalsIgnoreCase(difficulty);
+    }
+
+    public int getAIIterations() {
+        return "Pedrado".equalsIgnoreCase(difficulty) ? 20000 : 3000;
+    }
+
+    public long getAIThinkMillis() {
+        return "Pedrado".equalsIgnoreCase(difficulty) ? 400L : 150L;
+    }
+
+    // Pedrado plays the last hands by solving them exactly
+    public boolean hasEndgameSolver() {
+        return "Pedrado".equalsIgnoreCase(difficulty);
+    }
+
     public String getDifficulty() {
         return difficulty;
     }
@@ -3,6 +3,7 @@ package com.sweepgame.game;
 import com.badlogic.gdx.Gdx;
 import com.sweepgame.game.Card;
 import com.sweepgame.game.Player;
+import com.sweepgame.network.GameDeltaDTO;
 import com.sweepgame.network.GameStateDTO;
 import com.sweepgame.network.PlayerStateDTO;
 import com.sweepgame.network.WebSocketManager;
@@ -30,6 +31,9 @@ public class MultiplayerMode implements GameMode, WebSocketManager.GameStateList
     private List<Card> lastCollected;
     private boolean gameOver = false;
     private Player winner;
+    // Last full state with every delta since applied; deltas must follow its version
+    private GameStateDTO state;
+    private boolean resyncPending = false;
 
     public MultiplayerMode(WebSocketManager wsManager, String sessionId, String myUsername) {
         this.wsManager = wsManager;
@@ -129,7 +133,88 @@ public class MultiplayerMode implements GameMode, WebSocketManager.GameStateList
 
     @Override
     public void onGameStateUpdate(GameStateDTO state) {
-        logger.info("Game state update received");
+        logger.info("Game state update received (version {})", state.getVersion());
+        this.state = state;
+        resyncPending = false;
+        applyState(state);
+    }
+
+    @Override
+    public void onGameDelta(GameDeltaDTO delta) {
+        int version = state != null ? state.getVersion() : 0;
+        if (state != null && delta.getVersion() <= version) {
+            // Already part of the full state we resynced to
+            return;
+        }
+        if (state == null || delta.getVersion() != version + 1) {
+            if (!resyncPending) {
+                logger.warn("Missed game state update (have version {}, got {}), resyncing", version, delta.getVersion());
+                resyncPending = true;
+                wsManager.requestResync(sessionId);
+            }
+            return;
+        }
+
+        applyDelta(delta);
+        applyState(state);
+    }
+
+    private void applyDelta(GameDeltaDTO delta) {
+        if (delta.getGameState() != null) {
+            state.setGameState(delta.getGameState());
+        }
+        if (delta.getCurrentPlayerIndex() != null) {
+            state.setCurrentPlayerIndex(delta.getCurrentPlayerIndex());
+        }
+        if (delta.getMessage() != null) {
+            state.setMessage(delta.getMessage());
+        }
+
+        List<Card> table = state.getTableCards() != null ? new ArrayList<>(state.getTableCards()) : new ArrayList<>();
+        if (delta.getTable() != null) {
+            table.clear();
+            addCards(delta.getTable(), table);
+        } else {
+            if (delta.getTableRemoved() != null) {
+                for (int id : delta.getTableRemoved()) {
+                    table.remove(Card.byId(id));
+                }
+            }
+            if (delta.getTableAdded() != null) {
+                addCards(delta.getTableAdded(), table);
+            }
+        }
+        state.setTableCards(table);
+
+        List<PlayerStateDTO> playerStates = state.getPlayers();
+        if (delta.getPlayers() != null && playerStates != null) {
+            for (GameDeltaDTO.PlayerDelta pd : delta.getPlayers()) {
+                PlayerStateDTO ps = playerStates.get(pd.getSeat());
+                if (pd.getHandSize() != null) ps.setHandSize(pd.getHandSize());
+                if (pd.getCollectedSize() != null) ps.setCollectedSize(pd.getCollectedSize());
+                if (pd.getPoints() != null) ps.setPoints(pd.getPoints());
+                if (pd.getSweeps() != null) ps.setSweeps(pd.getSweeps());
+            }
+        }
+        if (playerStates != null) {
+            for (int i = 0; i < playerStates.size(); i++) {
+                playerStates.get(i).setCurrentPlayer(i == state.getCurrentPlayerIndex());
+            }
+        }
+
+        state.setVersion(delta.getVersion());
+    }
+
+    private static void addCards(int[] ids, List<Card> out) {
+        for (int id : ids) {
+            out.add(Card.byId(id));
+        }
+    }
+
+    private void applyState(GameStateDTO state) {
+        if (state.getTableCards() != null) {
+            tableCards = new ArrayList<>(state.getTableCards());
+        }
 
         // Update players first to ensure lists are populated
         if (state.getPlayers() != null) {
@@ -15,6 +15,11 @@ public class SingleplayerMode implements GameMode {
     public SingleplayerMode() {
         this.logic = new SweepLogic();
     }
+
+    // Replays a game exactly when given the seed reported by SweepLogic.getSeed()
+    public SingleplayerMode(long seed) {
+        this.logic = new SweepLogic(seed);
+    }
     
     @Override
     public void startGame(int startingPlayerIndex) {
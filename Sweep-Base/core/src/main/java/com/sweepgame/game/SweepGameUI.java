@@ -17,12 +17,16 @@ import com.sweepgame.SweepGame;
 import com.sweepgame.game.Card;
 import com.sweepgame.game.Deck;
 import com.sweepgame.game.Player;
+import com.sweepgame.game.bot.EndgameSolver;
+import com.sweepgame.game.bot.IsmctsBot;
 import com.sweepgame.ui.*;
 import com.sweepgame.utils.LayoutHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class SweepGameUI implements Screen {
     private static final Logger logger = LoggerFactory.getLogger(SweepGameUI.class);
@@ -50,6 +54,11 @@ public class SweepGameUI implements Screen {
     private float timeRemaining;
     private boolean timerActive;
     private boolean winnerShown = false; // Prevent showing winner multiple times // Track if AI is currently playing
+    private IsmctsBot aiBot; // Search AI for Hard/Pedrado, null for the first-card AI
+    private SweepState aiState; // Reused snapshot the search AI reads from
+    private ExecutorService aiExecutor; // Runs the search off the render thread
+    private volatile boolean aiSearchInFlight = false;
+    private volatile boolean disposed = false;
 
     // Singleplayer constructor
     public SweepGameUI(Game game, String mode, String tournamentMode) {
@@ -106,6 +115,20 @@ public class SweepGameUI implements Screen {
 
                 // Initialize tournament manager with players
                 tournamentManager.initializePlayers(gameMode.getPlayers());
+
+                if (difficultyConfig.hasSearchAI()) {
+                    aiBot = new IsmctsBot(gameLogic.getBotRandom(), difficultyConfig.getAIIterations(),
+                            difficultyConfig.getAIThinkMillis());
+                    if (difficultyConfig.hasEndgameSolver()) {
+                        aiBot.setEndgameSolver(new EndgameSolver());
+                    }
+                    aiState = new SweepState(gameLogic.getFormat());
+                    aiExecutor = Executors.newSingleThreadExecutor(r -> {
+                        Thread t = new Thread(r, "sweep-ai");
+                        t.setDaemon(true);
+                        return t;
+                    });
+                }
             } else {
                 // Multiplayer: game already started by server
                 gameMode.startGame(0);
@@ -196,7 +219,7 @@ public class SweepGameUI implements Screen {
     }
 
     public boolean isAITurnInProgress() {
-        return aiTurnInProgress;
+        return aiTurnInProgress || aiSearchInFlight;
     }
 
     private void refreshUI() {
@@ -252,6 +275,11 @@ public class SweepGameUI implements Screen {
 
     // Schedule the next AI turn with a delay
     private void scheduleNextAITurn() {
+        // The search in flight schedules the next turn when its move is applied
+        if (aiSearchInFlight) {
+            return;
+        }
+
         // Check if current player is still an AI (not human)
         if (gameLogic.getCurrentPlayer().equals(humanPlayer) || gameLogic.isGameOver()) {
             resetTimer();
@@ -271,6 +299,10 @@ public class SweepGameUI implements Screen {
 
     // Play a single AI turn
     private void playOneAITurn() {
+        if (disposed || aiSearchInFlight) {
+            return;
+        }
+
         // Get the current player from game logic (respects turn order)
         Player currentPlayer = gameLogic.getCurrentPlayer();
 
@@ -280,15 +312,58 @@ public class SweepGameUI implements Screen {
             return;
         }
 
-        if (!currentPlayer.getHand().isEmpty()) {
-            Card cardToPlay = currentPlayer.getHand().get(0);
-            List<Card> selectedForAI = new ArrayList<>();
-            selectedForAI.add(cardToPlay);
-            gameLogic.playCard(currentPlayer, cardToPlay, selectedForAI);
-            List<Card> collected = new ArrayList<>(gameLogic.getLastCollectedCards());
-            animateAICards(currentPlayer, cardToPlay, collected);
+        if (currentPlayer.getHand().isEmpty()) {
+            finishAITurn();
+        } else if (aiBot != null) {
+            searchAIMove(currentPlayer);
+        } else {
+            playFirstCard(currentPlayer);
+            finishAITurn();
         }
+    }
+
+    /**
+     * Runs the timed search on the AI thread so rendering goes on meanwhile, then
+     * plays its move back on the render thread. Input and further AI turns wait
+     * until then.
+     */
+    private void searchAIMove(Player currentPlayer) {
+        aiSearchInFlight = true;
+        aiState.load(gameLogic);
+        aiExecutor.execute(() -> {
+            long move;
+            try {
+                move = aiBot.chooseMove(aiState);
+            } catch (RuntimeException e) {
+                logger.error("AI search failed, playing the first card instead", e);
+                move = -1L;
+            }
+            final long chosen = move;
+            Gdx.app.postRunnable(() -> {
+                aiSearchInFlight = false;
+                if (disposed) {
+                    return;
+                }
+                if (chosen != -1L && gameLogic.apply(chosen)) {
+                    Card cardToPlay = Card.byId(Move.card(chosen));
+                    animateAICards(currentPlayer, cardToPlay, new ArrayList<>(gameLogic.getLastCollectedCards()));
+                } else {
+                    playFirstCard(currentPlayer);
+                }
+                finishAITurn();
+            });
+        });
+    }
 
+    private void playFirstCard(Player currentPlayer) {
+        Card cardToPlay = currentPlayer.getHand().get(0);
+        List<Card> selectedForAI = new ArrayList<>();
+        selectedForAI.add(cardToPlay);
+        gameLogic.playCard(currentPlayer, cardToPlay, selectedForAI);
+        animateAICards(currentPlayer, cardToPlay, new ArrayList<>(gameLogic.getLastCollectedCards()));
+    }
+
+    private void finishAITurn() {
         // Update UI after this AI's turn
         scoreUI.update(gameLogic.getPlayers());
         tableUI.update(gameLogic.getTableCards());
@@ -342,6 +417,10 @@ public class SweepGameUI implements Screen {
     @Override
     public void dispose() {
         logger.debug("Disposing game screen resources");
+        disposed = true;
+        if (aiExecutor != null) {
+            aiExecutor.shutdownNow();
+        }
         try {
             if (stage != null)
                 stage.dispose();
@@ -430,7 +509,7 @@ public class SweepGameUI implements Screen {
         // Record the win in tournament manager
         tournamentManager.recordWin(winnerName);
 
-        int points = player.calculatePoints() + player.getBrushes();
+        int points = gameLogic.getScores()[player.getSeat()].getTotal();
         int gamesWon = tournamentManager.getWins(winnerName);
 
         // Check if tournament is complete
@@ -0,0 +1,152 @@
+package com.sweepgame.network;
+
+import com.sweepgame.game.wire.WireFormat;
+import com.sweepgame.game.wire.WireReader;
+import com.sweepgame.game.wire.WireWriter;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.converter.AbstractMessageConverter;
+import org.springframework.messaging.converter.MessageConversionException;
+import org.springframework.util.MimeType;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Client side of the binary {@link WireFormat}: decodes game state, deltas and
+ * queue status frames from the server and encodes moves. Placed ahead of the JSON
+ * converter; frames of any other content type are left to it. Moves go out in
+ * binary only once the server has sent a binary frame, which shows it accepted
+ * the format, so an older server keeps getting JSON.
+ */
+public class BinaryMessageConverter extends AbstractMessageConverter {
+
+    public static final MimeType MIME_TYPE = MimeType.valueOf(WireFormat.CONTENT_TYPE);
+
+    private volatile boolean serverAccepted = false;
+
+    public BinaryMessageConverter() {
+        super(MIME_TYPE);
+        setStrictContentTypeMatch(true);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return clazz == GameStateDTO.class || clazz == GameDeltaDTO.class || clazz == MoveDTO.class
+                || Map.class.isAssignableFrom(clazz);
+    }
+
+    // Only moves are sent in binary, other requests are small and stay JSON
+    @Override
+    protected boolean canConvertTo(Object payload, MessageHeaders headers) {
+        return serverAccepted && payload instanceof MoveDTO;
+    }
+
+    @Override
+    protected Object convertFromInternal(Message<?> message, Class<?> targetClass, Object conversionHint) {
+        if (!(message.getPayload() instanceof byte[])) {
+            return null;
+        }
+        try {
+            Object decoded = decode((byte[]) message.getPayload());
+            serverAccepted = true;
+            return targetClass.isInstance(decoded) ? decoded : null;
+        } catch (IllegalArgumentException e) {
+            throw new MessageConversionException(message, "Malformed binary frame: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    protected Object convertToInternal(Object payload, MessageHeaders headers, Object conversionHint) {
+        MoveDTO move = (MoveDTO) payload;
+        WireWriter out = new WireWriter(32).header(WireFormat.MOVE);
+        out.writeString(move.getSessionId());
+        out.writeVarint(move.getHandCardIndex());
+        List<Integer> indices = move.getTableCardIndices() != null ? move.getTableCardIndices() : new ArrayList<>();
+        out.writeVarint(indices.size());
+        for (int index : indices) {
+            out.writeVarint(index);
+        }
+        return out.toByteArray();
+    }
+
+    public Object decode(byte[] bytes) {
+        WireReader in = new WireReader(bytes);
+        int tag = in.readHeader();
+        switch (tag) {
+            case WireFormat.GAME_STATE:
+                return decodeState(in);
+            case WireFormat.GAME_DELTA:
+                return decodeDelta(in);
+            case WireFormat.QUEUE_STATUS:
+                return decodeQueueStatus(in);
+            default:
+                throw new IllegalArgumentException("Unexpected message tag: " + tag);
+        }
+    }
+
+    private static GameStateDTO decodeState(WireReader in) {
+        GameStateDTO state = new GameStateDTO();
+        state.setSessionId(in.readString());
+        state.setVersion(in.readVarint());
+        state.setGameState(in.readString());
+        in.readString(); // format
+        state.setCurrentPlayerIndex(in.readVarint());
+        state.setTableCards(in.readCards());
+        int count = in.readCount();
+        List<PlayerStateDTO> players = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            PlayerStateDTO p = new PlayerStateDTO();
+            p.setUsername(in.readString());
+            p.setHandSize(in.readVarint());
+            p.setCollectedSize(in.readVarint());
+            p.setPoints(in.readVarint());
+            p.setSweeps(in.readVarint());
+            in.readVarint(); // team
+            p.setCurrentPlayer(i == state.getCurrentPlayerIndex());
+            players.add(p);
+        }
+        state.setPlayers(players);
+        state.setMessage(in.readString());
+        return state;
+    }
+
+    private static GameDeltaDTO decodeDelta(WireReader in) {
+        GameDeltaDTO delta = new GameDeltaDTO();
+        delta.setVersion(in.readVarint());
+        int flags = in.readByte();
+        if ((flags & WireFormat.DELTA_GAME_STATE) != 0) delta.setGameState(in.readString());
+        if ((flags & WireFormat.DELTA_CURRENT_PLAYER) != 0) delta.setCurrentPlayerIndex(in.readVarint());
+        if ((flags & WireFormat.DELTA_TABLE_REMOVED) != 0) delta.setTableRemoved(in.readCardIds());
+        if ((flags & WireFormat.DELTA_TABLE_ADDED) != 0) delta.setTableAdded(in.readCardIds());
+        if ((flags & WireFormat.DELTA_TABLE) != 0) delta.setTable(in.readCardIds());
+        if ((flags & WireFormat.DELTA_PLAYERS) != 0) {
+            int count = in.readCount();
+            List<GameDeltaDTO.PlayerDelta> players = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                GameDeltaDTO.PlayerDelta p = new GameDeltaDTO.PlayerDelta();
+                p.setSeat(in.readVarint());
+                int playerFlags = in.readByte();
+                if ((playerFlags & WireFormat.PLAYER_HAND_SIZE) != 0) p.setHandSize(in.readVarint());
+                if ((playerFlags & WireFormat.PLAYER_COLLECTED_SIZE) != 0) p.setCollectedSize(in.readVarint());
+                if ((playerFlags & WireFormat.PLAYER_POINTS) != 0) p.setPoints(in.readVarint());
+                if ((playerFlags & WireFormat.PLAYER_SWEEPS) != 0) p.setSweeps(in.readVarint());
+                players.add(p);
+            }
+            delta.setPlayers(players);
+        }
+        if ((flags & WireFormat.DELTA_MESSAGE) != 0) delta.setMessage(in.readString());
+        return delta;
+    }
+
+    private static Map<String, Object> decodeQueueStatus(WireReader in) {
+        Map<String, Object> status = new HashMap<>();
+        status.put("status", in.readString());
+        status.put("queueSize", in.readVarint());
+        status.put("format", in.readString());
+        status.put("seats", in.readVarint());
+        return status;
+    }
+}
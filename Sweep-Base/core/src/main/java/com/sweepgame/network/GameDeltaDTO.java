@@ -0,0 +1,67 @@
+package com.sweepgame.network;
+
+import java.util.List;
+
+/**
+ * Changes since the previous game state of the session. Null fields did not change
+ * and cards are sent as their ids; {@code version} is one more than the version of
+ * the state the delta applies to.
+ */
+public class GameDeltaDTO {
+    private int version;
+    private String gameState;
+    private Integer currentPlayerIndex;
+    private int[] tableRemoved;
+    private int[] tableAdded;
+    private int[] table;
+    private List<PlayerDelta> players;
+    private String message;
+
+    // Getters and setters
+    public int getVersion() { return version; }
+    public void setVersion(int version) { this.version = version; }
+
+    public String getGameState() { return gameState; }
+    public void setGameState(String gameState) { this.gameState = gameState; }
+
+    public Integer getCurrentPlayerIndex() { return currentPlayerIndex; }
+    public void setCurrentPlayerIndex(Integer currentPlayerIndex) { this.currentPlayerIndex = currentPlayerIndex; }
+
+    public int[] getTableRemoved() { return tableRemoved; }
+    public void setTableRemoved(int[] tableRemoved) { this.tableRemoved = tableRemoved; }
+
+    public int[] getTableAdded() { return tableAdded; }
+    public void setTableAdded(int[] tableAdded) { this.tableAdded = tableAdded; }
+
+    public int[] getTable() { return table; }
+    public void setTable(int[] table) { this.table = table; }
+
+    public List<PlayerDelta> getPlayers() { return players; }
+    public void setPlayers(List<PlayerDelta> players) { this.players = players; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+
+    public static class PlayerDelta {
+        private int seat;
+        private Integer handSize;
+        private Integer collectedSize;
+        private Integer points;
+        private Integer sweeps;
+
+        public int getSeat() { return seat; }
+        public void setSeat(int seat) { this.seat = seat; }
+
+        public Integer getHandSize() { return handSize; }
+        public void setHandSize(Integer handSize) { this.handSize = handSize; }
+
+        public Integer getCollectedSize() { return collectedSize; }
+        public void setCollectedSize(Integer collectedSize) { this.collectedSize = collectedSize; }
+
+        public Integer getPoints() { return points; }
+        public void setPoints(Integer points) { this.points = points; }
+
+        public Integer getSweeps() { return sweeps; }
+        public void setSweeps(Integer sweeps) { this.sweeps = sweeps; }
+    }
+}
@@ -5,6 +5,7 @@ import java.util.List;
 
 public class GameStateDTO {
     private String sessionId;
+    private int version;
     private String gameState;
     private int currentPlayerIndex;
     private List<Card> tableCards;
@@ -15,6 +16,9 @@ public class GameStateDTO {
     public String getSessionId() { return sessionId; }
     public void setSessionId(String sessionId) { this.sessionId = sessionId; }
     
+    public int getVersion() { return version; }
+    public void setVersion(int version) { this.version = version; }
+
     public String getGameState() { return gameState; }
     public void setGameState(String gameState) { this.gameState = gameState; }
     
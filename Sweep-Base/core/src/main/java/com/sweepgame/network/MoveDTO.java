@@ -0,0 +1,28 @@
+package com.sweepgame.network;
+
+import java.util.List;
+
+public class MoveDTO {
+    private String sessionId;
+    private int handCardIndex;
+    private List<Integer> tableCardIndices;
+
+    public MoveDTO() {
+    }
+
+    public MoveDTO(String sessionId, int handCardIndex, List<Integer> tableCardIndices) {
+        this.sessionId = sessionId;
+        this.handCardIndex = handCardIndex;
+        this.tableCardIndices = tableCardIndices;
+    }
+
+    // Getters and setters
+    public String getSessionId() { return sessionId; }
+    public void setSessionId(String sessionId) { this.sessionId = sessionId; }
+
+    public int getHandCardIndex() { return handCardIndex; }
+    public void setHandCardIndex(int handCardIndex) { this.handCardIndex = handCardIndex; }
+
+    public List<Integer> getTableCardIndices() { return tableCardIndices; }
+    public void setTableCardIndices(List<Integer> tableCardIndices) { this.tableCardIndices = tableCardIndices; }
+}
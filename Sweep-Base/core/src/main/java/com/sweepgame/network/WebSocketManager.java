@@ -2,6 +2,8 @@ package com.sweepgame.network;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import com.sweepgame.game.wire.WireFormat;
+import org.springframework.messaging.converter.CompositeMessageConverter;
 import org.springframework.messaging.converter.MappingJackson2MessageConverter;
 import org.springframework.messaging.simp.stomp.*;
 import org.springframework.web.socket.WebSocketHttpHeaders;
@@ -23,12 +25,18 @@ public class WebSocketManager {
     private String serverUrl = "http://localhost:8080/ws";
     private String accessToken;
     private boolean connected = false;
+    // Ask the server for the compact binary format instead of JSON
+    private boolean binaryProtocol = true;
 
     public interface GameStateListener {
         void onConnect();
 
         void onGameStateUpdate(GameStateDTO state);
 
+        /** Changes since the last state; only the game screen applies them. */
+        default void onGameDelta(GameDeltaDTO delta) {
+        }
+
         void onMatchFound(String sessionId);
 
         void onQueueUpdate(int queueSize);
@@ -42,6 +50,10 @@ public class WebSocketManager {
         this.listener = listener;
     }
 
+    public void setBinaryProtocol(boolean binaryProtocol) {
+        this.binaryProtocol = binaryProtocol;
+    }
+
     public void connect(String token) {
         this.accessToken = token;
 
@@ -53,11 +65,20 @@ public class WebSocketManager {
 
             // Create STOMP client
             stompClient = new WebSocketStompClient(sockJsClient);
-            stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+            if (binaryProtocol) {
+                // Binary frames are decoded first, JSON ones (errors, older servers) fall through
+                stompClient.setMessageConverter(new CompositeMessageConverter(Arrays.asList(
+                        new BinaryMessageConverter(), new MappingJackson2MessageConverter())));
+            } else {
+                stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+            }
 
             // Create STOMP headers with JWT authentication
             StompHeaders connectHeaders = new StompHeaders();
             connectHeaders.add("Authorization", "Bearer " + token);
+            if (binaryProtocol) {
+                connectHeaders.add(WireFormat.CODEC_HEADER, Integer.toString(WireFormat.VERSION));
+            }
 
             logger.info("Connecting to STOMP server at {}", serverUrl);
 
@@ -137,6 +158,22 @@ public class WebSocketManager {
                 }
             });
 
+            // Subscribe to game state deltas, sent after the first full state
+            stompSession.subscribe("/user/queue/game-delta", new StompFrameHandler() {
+                @Override
+                public Type getPayloadType(StompHeaders headers) {
+                    return GameDeltaDTO.class;
+                }
+
+                @Override
+                public void handleFrame(StompHeaders headers, Object payload) {
+                    logger.debug("Received game-delta message");
+                    if (payload instanceof GameDeltaDTO && listener != null) {
+                        listener.onGameDelta((GameDeltaDTO) payload);
+                    }
+                }
+            });
+
             // Subscribe to matchmaking updates
             stompSession.subscribe("/user/queue/matchmaking", new StompFrameHandler() {
                 @Override
@@ -210,16 +247,20 @@ public class WebSocketManager {
     }
 
     public void playCard(int handCardIndex, List<Integer> tableCardIndices) {
-        Map<String, Object> payload = new HashMap<>();
-        payload.put("handCardIndex", handCardIndex);
-        payload.put("tableCardIndices", tableCardIndices);
-        sendMessage("/app/game/move", payload);
+        sendMessage("/app/game/move", new MoveDTO(null, handCardIndex, tableCardIndices));
     }
 
     public void sendReady() {
         sendMessage("/app/game/ready", new HashMap<>());
     }
 
+    /** Asks the server for the full game state of {@code sessionId} after a missed delta. */
+    public void requestResync(String sessionId) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("sessionId", sessionId);
+        sendMessage("/app/game/resync", payload);
+    }
+
     private void sendMessage(String destination, Object payload) {
         if (!isConnected()) {
             logger.warn("Cannot send message to {}, not connected", destination);
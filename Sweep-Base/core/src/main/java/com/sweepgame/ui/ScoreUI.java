@@ -4,6 +4,7 @@ import com.badlogic.gdx.scenes.scene2d.ui.Label;
 import com.badlogic.gdx.scenes.scene2d.ui.Skin;
 import com.badlogic.gdx.scenes.scene2d.ui.Table;
 import com.sweepgame.game.Player;
+import com.sweepgame.game.PlayerScore;
 import com.sweepgame.utils.LayoutHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -15,6 +16,7 @@ public class ScoreUI {
 
     private Table table;
     private Label[] playerScoreLabels;
+    private final PlayerScore score = new PlayerScore(); // reused for every label refresh
     private com.sweepgame.game.TournamentManager tournamentManager;
 
     public ScoreUI(Skin skin, List<Player> players, com.sweepgame.game.TournamentManager tournamentManager) {
@@ -60,7 +62,8 @@ public class ScoreUI {
         }
 
         // Use multi-line format for both mobile and desktop for better readability
-        return p.getName() + "\n" + gamesWonText + "Pts: " + p.calculatePoints() + "\nSweeps: " + p.getBrushes()
-                + "\nCards: " + p.getPointsStack().size();
+        p.fillScore(score);
+        return p.getName() + "\n" + gamesWonText + "Pts: " + score.getPoints() + "\nSweeps: " + score.getBrushes()
+                + "\nCards: " + score.getCards();
     }
 }
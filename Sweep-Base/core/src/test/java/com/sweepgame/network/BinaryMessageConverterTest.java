@@ -0,0 +1,97 @@
+package com.sweepgame.network;
+
+import com.sweepgame.game.Card;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Decodes the frames pinned by game-logic's WireFormatTest; the server encoder is checked against the same bytes. */
+class BinaryMessageConverterTest {
+
+    // Same bytes as WireFormatTest.GAME_STATE_FRAME and GAME_DELTA_FRAME
+    private static final String GAME_STATE_FRAME =
+            "01 01 03 73 31 05 0c 49 4e 5f 50 52 4f 47 52 45 53 53 03 33 70 01 02 00 27 01 04 61 6e 61 03 00 c8 01 01 00 00";
+    private static final String GAME_DELTA_FRAME = "01 02 06 6e 02 01 05 02 07 08 01 01 05 02 03 03 68 69";
+    private static final String QUEUE_STATUS_FRAME = "01 03 08 77 61 69 74 69 6e 67 02 04 32 76 32 04";
+    private static final String MOVE_FRAME = "01 04 03 73 31 02 02 00 03";
+
+    private final BinaryMessageConverter converter = new BinaryMessageConverter();
+
+    @Test
+    void decodesGameState() {
+        GameStateDTO state = (GameStateDTO) converter.decode(hex(GAME_STATE_FRAME));
+        assertEquals("s1", state.getSessionId());
+        assertEquals(5, state.getVersion());
+        assertEquals("IN_PROGRESS", state.getGameState());
+        assertEquals(1, state.getCurrentPlayerIndex());
+        assertEquals(Arrays.asList(Card.byId(0), Card.byId(39)), state.getTableCards());
+        assertEquals(1, state.getPlayers().size());
+        PlayerStateDTO ana = state.getPlayers().get(0);
+        assertEquals("ana", ana.getUsername());
+        assertEquals(3, ana.getHandSize());
+        assertEquals(0, ana.getCollectedSize());
+        assertEquals(200, ana.getPoints());
+        assertEquals(1, ana.getSweeps());
+        assertFalse(ana.isCurrentPlayer());
+        assertNull(state.getMessage());
+    }
+
+    @Test
+    void decodesGameDelta() {
+        GameDeltaDTO delta = (GameDeltaDTO) converter.decode(hex(GAME_DELTA_FRAME));
+        assertEquals(6, delta.getVersion());
+        assertNull(delta.getGameState());
+        assertEquals(Integer.valueOf(2), delta.getCurrentPlayerIndex());
+        assertArrayEquals(new int[] {5}, delta.getTableRemoved());
+        assertArrayEquals(new int[] {7, 8}, delta.getTableAdded());
+        assertNull(delta.getTable());
+        assertEquals(1, delta.getPlayers().size());
+        GameDeltaDTO.PlayerDelta seat = delta.getPlayers().get(0);
+        assertEquals(1, seat.getSeat());
+        assertEquals(Integer.valueOf(2), seat.getHandSize());
+        assertNull(seat.getCollectedSize());
+        assertEquals(Integer.valueOf(3), seat.getPoints());
+        assertNull(seat.getSweeps());
+        assertEquals("hi", delta.getMessage());
+    }
+
+    @Test
+    void decodesQueueStatus() {
+        Map<?, ?> status = (Map<?, ?>) converter.decode(hex(QUEUE_STATUS_FRAME));
+        assertEquals("waiting", status.get("status"));
+        assertEquals(2, status.get("queueSize"));
+        assertEquals("2v2", status.get("format"));
+        assertEquals(4, status.get("seats"));
+    }
+
+    @Test
+    void encodesMove() {
+        byte[] frame = (byte[]) converter.convertToInternal(new MoveDTO("s1", 2, Arrays.asList(0, 3)), null, null);
+        assertArrayEquals(hex(MOVE_FRAME), frame);
+    }
+
+    @Test
+    void rejectsMovesAndTruncatedFrames() {
+        assertThrows(IllegalArgumentException.class, () -> converter.decode(hex(MOVE_FRAME)));
+        String truncated = GAME_DELTA_FRAME.substring(0, GAME_DELTA_FRAME.length() - 3);
+        assertThrows(IllegalArgumentException.class, () -> converter.decode(hex(truncated)));
+        assertTrue(converter.decode(hex(GAME_DELTA_FRAME)) instanceof GameDeltaDTO);
+    }
+
+    private static byte[] hex(String frame) {
+        String[] parts = frame.trim().split(" +");
+        byte[] bytes = new byte[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            bytes[i] = (byte) Integer.parseInt(parts[i], 16);
+        }
+        return bytes;
+    }
+}
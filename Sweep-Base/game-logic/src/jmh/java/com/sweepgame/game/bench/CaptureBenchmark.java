@@ -0,0 +1,101 @@
+package com.sweepgame.game.bench;
+
+import com.sweepgame.game.Card;
+import com.sweepgame.game.CaptureFinder;
+import com.sweepgame.game.SweepLogic;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sum-15 capture search against table size. {@link #subsetScan} is the original
+ * 2^n list-based search, kept here as the baseline the finder is measured against.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CaptureBenchmark {
+
+    @Param({"0", "2", "4", "6", "8", "10", "12"})
+    int tableSize;
+
+    private Positions position;
+    private CaptureFinder finder;
+    private SweepLogic logic;
+    private Random random;
+    private int playedValue;
+
+    @Setup
+    public void setup() {
+        position = new Positions(tableSize);
+        finder = new CaptureFinder();
+        logic = new SweepLogic(Positions.SEED);
+        logic.getTableCards().addAll(position.table);
+        random = Positions.random();
+        playedValue = position.handCard.getValue();
+    }
+
+    @Benchmark
+    public long first() {
+        return finder.first(position.tableMask, playedValue);
+    }
+
+    @Benchmark
+    public long count() {
+        return finder.count(position.tableMask, playedValue);
+    }
+
+    @Benchmark
+    public void forEach(final Blackhole bh) {
+        finder.forEach(position.tableMask, playedValue, capture -> {
+            bh.consume(capture);
+            return true;
+        });
+    }
+
+    @Benchmark
+    public long random() {
+        return finder.random(position.tableMask, playedValue, random);
+    }
+
+    @Benchmark
+    public List<Card> findRandomValidSum15() {
+        return logic.findRandomValidSum15(position.handCard);
+    }
+
+    @Benchmark
+    public List<List<Card>> subsetScan() {
+        List<Card> table = position.table;
+        List<List<Card>> found = new ArrayList<>();
+        int n = table.size();
+        for (int mask = 1; mask < (1 << n); mask++) {
+            List<Card> subset = new ArrayList<>();
+            int sum = playedValue;
+            for (int i = 0; i < n; i++) {
+                if ((mask & (1 << i)) != 0) {
+                    subset.add(table.get(i));
+                    sum += table.get(i).getValue();
+                }
+            }
+            if (sum == 15) found.add(subset);
+        }
+        return found;
+    }
+}
@@ -0,0 +1,67 @@
+package com.sweepgame.game.bench;
+
+import com.sweepgame.game.Deck;
+import com.sweepgame.game.EngineMode;
+import com.sweepgame.game.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/** Deck creation, shuffling and dealing. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeckBenchmark {
+
+    @Param({"VERBOSE", "QUIET"})
+    EngineMode mode;
+
+    private Random random;
+
+    @Setup
+    public void setup() {
+        random = Positions.random();
+    }
+
+    @Benchmark
+    public Deck newDeckAndShuffle() {
+        Deck deck = new Deck(mode);
+        deck.shuffle(random);
+        return deck;
+    }
+
+    @Benchmark
+    public void shuffleAndDrawAll(Blackhole bh) {
+        Deck deck = new Deck(mode);
+        deck.shuffle(random);
+        while (!deck.isEmpty()) {
+            bh.consume(deck.draw());
+        }
+    }
+
+    @Benchmark
+    public Player shuffleAndDealHands() {
+        Deck deck = new Deck(mode);
+        deck.shuffle(random);
+        Player player = new Player("bench", mode);
+        while (!deck.isEmpty()) {
+            deck.deal(3, player);
+        }
+        return player;
+    }
+}
@@ -0,0 +1,101 @@
+package com.sweepgame.game.bench;
+
+import com.sweepgame.game.Card;
+import com.sweepgame.game.CaptureFinder;
+import com.sweepgame.game.CardMask;
+import com.sweepgame.game.EngineMode;
+import com.sweepgame.game.Player;
+import com.sweepgame.game.SweepLogic;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A single move through {@link SweepLogic}. Every invocation first restores the
+ * position (fresh player, same hand card, same table), so the time per operation
+ * of {@link #restoreOnly} (1 / its throughput) is the cost to subtract from the
+ * other two. Each play also appends to the game's {@link com.sweepgame.game.GameLog},
+ * so the game is restarted every iteration and whenever its log reaches
+ * {@link #LOG_LIMIT} bytes, keeping log growth out of the allocation numbers.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlayBenchmark {
+    static final int LOG_LIMIT = 1 << 12;
+
+    @Param({"0", "2", "4", "6", "8", "10", "12"})
+    int tableSize;
+
+    @Param({"VERBOSE", "QUIET"})
+    EngineMode mode;
+
+    private Positions position;
+    private SweepLogic logic;
+    private List<Card> selection;
+    private List<Card> anySelection;
+
+    @Setup
+    public void setup() {
+        position = new Positions(tableSize);
+
+        // The capture the UI would send, or a drop when the card captures nothing
+        selection = new ArrayList<>();
+        CardMask.addCards(new CaptureFinder()
+                .first(position.tableMask, position.handCard.getValue()), selection);
+        // playCard only checks that something was selected before searching itself
+        anySelection = Collections.singletonList(position.handCard);
+    }
+
+    @Setup(Level.Iteration)
+    public void newGame() {
+        logic = new SweepLogic(Positions.SEED, mode);
+        logic.startGame();
+    }
+
+    private Player restore() {
+        if (logic.getLog().size() >= LOG_LIMIT) {
+            newGame();
+        }
+        List<Card> table = logic.getTableCards();
+        table.clear();
+        table.addAll(position.table);
+        Player player = new Player("bench", mode);
+        player.getHand().add(position.handCard);
+        return player;
+    }
+
+    @Benchmark
+    public Player restoreOnly() {
+        return restore();
+    }
+
+    @Benchmark
+    public List<Card> playCard() {
+        logic.playCard(restore(), position.handCard, anySelection);
+        return logic.getLastCollectedCards();
+    }
+
+    @Benchmark
+    public List<Card> playCardWithSelection() {
+        logic.playCardWithSelection(restore(), position.handCard, selection);
+        return logic.getLastCollectedCards();
+    }
+}
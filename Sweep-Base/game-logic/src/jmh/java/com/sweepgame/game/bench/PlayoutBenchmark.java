@@ -0,0 +1,82 @@
+package com.sweepgame.game.bench;
+
+import com.sweepgame.game.CardMask;
+import com.sweepgame.game.Deck;
+import com.sweepgame.game.EngineMode;
+import com.sweepgame.game.MoveGenerator;
+import com.sweepgame.game.MoveList;
+import com.sweepgame.game.Player;
+import com.sweepgame.game.SweepLogic;
+import com.sweepgame.game.SweepState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A whole game with uniformly random legal moves, through the list-based
+ * {@link SweepLogic} and through the mask-based {@link SweepState}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlayoutBenchmark {
+
+    @Param({"VERBOSE", "QUIET"})
+    EngineMode mode;
+
+    private Random random;
+    private final MoveList moves = new MoveList();
+    private final MoveGenerator generator = new MoveGenerator();
+    private final SweepState state = new SweepState();
+    private final byte[] order = new byte[CardMask.DECK_SIZE];
+
+    @Setup
+    public void setup() {
+        random = Positions.random();
+    }
+
+    @Benchmark
+    public Player sweepLogicGame() {
+        SweepLogic logic = new SweepLogic(random.nextLong(), mode);
+        logic.startGame();
+        while (!logic.isGameOver()) {
+            int n = logic.generateMoves(moves);
+            logic.apply(moves.get(random.nextInt(n)));
+            if (logic.allHandsEmpty() && !logic.getDeck().isEmpty()) {
+                logic.dealNewRound();
+            }
+        }
+        logic.finishGame();
+        return logic.getWinner();
+    }
+
+    @Benchmark
+    public int sweepStateGame() {
+        Deck deck = new Deck(EngineMode.QUIET);
+        deck.shuffle(random);
+        for (int i = 0; i < CardMask.DECK_SIZE; i++) {
+            order[i] = (byte) deck.peekId(i);
+        }
+        state.reset(order, random.nextInt(state.getSeats()));
+        while (!state.isGameOver()) {
+            int n = generator.generate(state.getHand(state.getCurrentSeat()), state.getTable(), moves);
+            state.makeMove(moves.get(random.nextInt(n)));
+        }
+        state.finish();
+        return state.leaders();
+    }
+}
@@ -0,0 +1,45 @@
+package com.sweepgame.game.bench;
+
+import com.sweepgame.game.Card;
+import com.sweepgame.game.CaptureFinder;
+import com.sweepgame.game.CardMask;
+import com.sweepgame.game.Deck;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Reproducible table positions for the benchmarks: a seeded shuffle, the first
+ * {@code tableSize} cards on the table and, when one exists, a hand card that can
+ * capture from it.
+ */
+final class Positions {
+    static final long SEED = 42L;
+
+    final List<Card> table = new ArrayList<>();
+    final long tableMask;
+    final Card handCard;
+
+    Positions(int tableSize) {
+        Deck deck = new Deck();
+        deck.shuffle(SEED);
+        for (int i = 0; i < tableSize; i++) {
+            table.add(deck.draw());
+        }
+        tableMask = CardMask.of(table);
+
+        CaptureFinder finder = new CaptureFinder();
+        Card fallback = deck.draw();
+        Card capturing = null;
+        while (capturing == null && !deck.isEmpty()) {
+            Card c = deck.draw();
+            if (finder.canCapture(tableMask, c.getValue())) capturing = c;
+        }
+        handCard = capturing != null ? capturing : fallback;
+    }
+
+    static Random random() {
+        return new Random(SEED);
+    }
+}
@@ -0,0 +1,76 @@
+package com.sweepgame.game.bench;
+
+import com.sweepgame.game.Deck;
+import com.sweepgame.game.EngineMode;
+import com.sweepgame.game.Player;
+import com.sweepgame.game.PlayerScore;
+import com.sweepgame.game.ScoringRules;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/** Score evaluation for a player holding {@code stackSize} collected cards under each rule set. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScoringBenchmark {
+
+    @Param({"0", "10", "20", "40"})
+    int stackSize;
+
+    @Param({"SWEEP", "ESCOBA", "SCOPA"})
+    String rules;
+
+    private Player player;
+    private ScoringRules scoringRules;
+    private final long[] stacks = new long[3];
+    private final int[] brushes = new int[3];
+    private final int[] totals = new int[3];
+    private final PlayerScore score = new PlayerScore();
+
+    @Setup
+    public void setup() {
+        Deck deck = new Deck();
+        deck.shuffle(Positions.SEED);
+        scoringRules = rules.equals("ESCOBA") ? ScoringRules.ESCOBA
+                : rules.equals("SCOPA") ? ScoringRules.SCOPA : ScoringRules.SWEEP;
+        player = new Player("bench", EngineMode.QUIET, scoringRules);
+        deck.deal(stackSize, player);
+        player.collectCards(player.getHand());
+        player.getHand().clear();
+        // The rest of the deck split between two opponents
+        stacks[0] = player.getStackMask();
+        for (int i = 0; !deck.isEmpty(); i++) {
+            stacks[1 + (i & 1)] |= 1L << deck.draw().id();
+        }
+    }
+
+    @Benchmark
+    public int calculatePoints() {
+        return player.calculatePoints();
+    }
+
+    @Benchmark
+    public PlayerScore fillScore() {
+        return player.fillScore(score);
+    }
+
+    @Benchmark
+    public int[] scoreAllSeats() {
+        scoringRules.score(stacks, brushes, stacks.length, totals);
+        return totals;
+    }
+}
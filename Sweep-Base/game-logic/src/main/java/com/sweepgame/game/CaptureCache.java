@@ -0,0 +1,174 @@
+package com.sweepgame.game;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded, thread-safe memo of capture shapes. Whether a card can capture depends
+ * only on how many table cards there are of each value, so results are keyed by a
+ * packed value histogram (3 bits per value 1-10) plus the played value. An entry
+ * lists the capturable value combinations in the same packed layout;
+ * {@link CaptureFinder} maps them back to concrete cards. Entries are immutable
+ * and stored in a direct-mapped table, so lookups never lock and a collision just
+ * evicts the older shape.
+ */
+public final class CaptureCache {
+    static final int MAX_VALUE = 10;
+    static final int VALUE_BITS = 3;
+    private static final int VALUE_MASK = (1 << VALUE_BITS) - 1;
+    private static final int KEY_SHIFT = MAX_VALUE * VALUE_BITS;
+    private static final int TARGET = SweepState.TARGET_SUM;
+
+    static final long[][] CHOOSE = new long[CardMask.DECK_SIZE + 1][CardMask.DECK_SIZE + 1];
+
+    static {
+        for (int n = 0; n <= CardMask.DECK_SIZE; n++) {
+            CHOOSE[n][0] = 1;
+            for (int k = 1; k <= n; k++) {
+                CHOOSE[n][k] = CHOOSE[n - 1][k - 1] + CHOOSE[n - 1][k];
+            }
+        }
+    }
+
+    private static final CaptureCache SHARED = new CaptureCache(1 << 12);
+
+    /** Capture combinations for one table shape and played value. */
+    public static final class Entry {
+        private final long key;
+        private final long[] combinations;
+        // cumulative[i] = concrete captures in combinations 0..i
+        private final long[] cumulative;
+
+        private Entry(long key, long[] combinations, long[] cumulative) {
+            this.key = key;
+            this.combinations = combinations;
+            this.cumulative = cumulative;
+        }
+
+        public int size() {
+            return combinations.length;
+        }
+
+        /** The i-th combination as a packed value histogram, see {@link CaptureCache#count}. */
+        public long combination(int i) {
+            return combinations[i];
+        }
+
+        /** Number of concrete card captures across all combinations. */
+        public long total() {
+            return combinations.length == 0 ? 0L : cumulative[combinations.length - 1];
+        }
+
+        // Index of the combination holding the index-th concrete capture
+        int find(long index) {
+            int lo = 0;
+            int hi = cumulative.length - 1;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (cumulative[mid] > index) hi = mid;
+                else lo = mid + 1;
+            }
+            return lo;
+        }
+
+        long before(int i) {
+            return i == 0 ? 0L : cumulative[i - 1];
+        }
+    }
+
+    private final int mask;
+    private final AtomicReferenceArray<Entry> slots;
+
+    public CaptureCache(int slots) {
+        int size = Integer.highestOneBit(Math.max(slots, 1));
+        if (size < slots) size <<= 1;
+        this.mask = size - 1;
+        this.slots = new AtomicReferenceArray<>(size);
+    }
+
+    /** The cache every {@link CaptureFinder} uses unless given its own. */
+    public static CaptureCache shared() {
+        return SHARED;
+    }
+
+    /** Packed count of table cards per value, 3 bits per value. */
+    public static long histogram(long table) {
+        long histogram = 0L;
+        for (int v = 1; v <= MAX_VALUE; v++) {
+            histogram |= (long) Long.bitCount(table & CardMask.ofValue(v)) << shift(v);
+        }
+        return histogram;
+    }
+
+    /** Cards of {@code value} in a packed histogram or combination. */
+    public static int count(long histogram, int value) {
+        return (int) (histogram >>> shift(value)) & VALUE_MASK;
+    }
+
+    static int shift(int value) {
+        return (value - 1) * VALUE_BITS;
+    }
+
+    public Entry get(long histogram, int playedValue) {
+        long key = histogram | (long) playedValue << KEY_SHIFT;
+        int slot = index(key);
+        Entry entry = slots.get(slot);
+        if (entry != null && entry.key == key) {
+            return entry;
+        }
+        entry = build(key, histogram, TARGET - playedValue);
+        slots.lazySet(slot, entry);
+        return entry;
+    }
+
+    private int index(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 40) & mask;
+    }
+
+    private static Entry build(long key, long histogram, int target) {
+        long[] found = new long[16];
+        int n = 0;
+        if (target > 0) {
+            // Depth-first over values 10..1, choosing how many cards of each to take
+            long[] stack = new long[MAX_VALUE + 2];
+            int[] taken = new int[MAX_VALUE + 2];
+            int[] remaining = new int[MAX_VALUE + 2];
+            int v = MAX_VALUE;
+            remaining[v] = target;
+            taken[v] = -1;
+            stack[v] = 0L;
+            while (v <= MAX_VALUE) {
+                int k = ++taken[v];
+                if (k > count(histogram, v) || k * v > remaining[v]) {
+                    v++;
+                    continue;
+                }
+                long combination = stack[v] | (long) k << shift(v);
+                int rest = remaining[v] - k * v;
+                if (rest == 0) {
+                    if (n == found.length) found = Arrays.copyOf(found, n * 2);
+                    found[n++] = combination;
+                } else if (v > 1) {
+                    v--;
+                    remaining[v] = rest;
+                    stack[v] = combination;
+                    taken[v] = -1;
+                }
+            }
+        }
+
+        long[] combinations = Arrays.copyOf(found, n);
+        long[] cumulative = new long[n];
+        long total = 0L;
+        for (int i = 0; i < n; i++) {
+            long ways = 1L;
+            for (int v = 1; v <= MAX_VALUE; v++) {
+                ways *= CHOOSE[count(histogram, v)][count(combinations[i], v)];
+            }
+            total += ways;
+            cumulative[i] = total;
+        }
+        return new Entry(key, combinations, cumulative);
+    }
+}
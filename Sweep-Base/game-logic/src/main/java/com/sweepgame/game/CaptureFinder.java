@@ -0,0 +1,131 @@
+package com.sweepgame.game;
+
+import java.util.Random;
+
+/**
+ * Enumerates the table captures for a played card as card masks (see {@link CardMask}).
+ * Which value combinations reach 15 only depends on the table's value histogram, so
+ * they come from a shared {@link CaptureCache} and only the mapping back to concrete
+ * cards happens per call. Nothing is allocated on a cache hit; an instance is
+ * reusable but not thread-safe (the cache is).
+ */
+public final class CaptureFinder {
+
+    /** Receives each capture mask; return false to stop the enumeration. */
+    public interface CaptureVisitor {
+        boolean visit(long capture);
+    }
+
+    private static final int MAX_VALUE = CaptureCache.MAX_VALUE;
+    private static final long[][] CHOOSE = CaptureCache.CHOOSE;
+
+    private final CaptureCache cache;
+
+    // Table cards grouped by value for the current call
+    private final long[] valueCards = new long[MAX_VALUE + 1];
+    private final int[] valueCounts = new int[MAX_VALUE + 1];
+
+    private CaptureVisitor visitor;
+    private boolean stopped;
+
+    public CaptureFinder() {
+        this(CaptureCache.shared());
+    }
+
+    public CaptureFinder(CaptureCache cache) {
+        this.cache = cache;
+    }
+
+    private CaptureCache.Entry prepare(long table, int playedValue) {
+        long histogram = 0L;
+        for (int v = 1; v <= MAX_VALUE; v++) {
+            long cards = table & CardMask.ofValue(v);
+            int count = Long.bitCount(cards);
+            valueCards[v] = cards;
+            valueCounts[v] = count;
+            histogram |= (long) count << CaptureCache.shift(v);
+        }
+        return cache.get(histogram, playedValue);
+    }
+
+    /** Number of distinct captures available to a card of {@code playedValue}. */
+    public long count(long table, int playedValue) {
+        return prepare(table, playedValue).total();
+    }
+
+    public boolean canCapture(long table, int playedValue) {
+        return prepare(table, playedValue).size() > 0;
+    }
+
+    public void forEach(long table, int playedValue, CaptureVisitor visitor) {
+        CaptureCache.Entry entry = prepare(table, playedValue);
+        if (entry.size() == 0) return;
+        this.visitor = visitor;
+        this.stopped = false;
+        try {
+            for (int i = 0; i < entry.size() && !stopped; i++) {
+                expand(entry.combination(i), MAX_VALUE, 0L);
+            }
+        } finally {
+            this.visitor = null;
+        }
+    }
+
+    // Every choice of the combination's count of cards for each value
+    private void expand(long combination, int v, long partial) {
+        while (v >= 1 && CaptureCache.count(combination, v) == 0) v--;
+        if (v == 0) {
+            if (!visitor.visit(partial)) stopped = true;
+            return;
+        }
+        int k = CaptureCache.count(combination, v);
+        long cards = valueCards[v];
+        for (long sub = cards; sub != 0 && !stopped; sub = (sub - 1) & cards) {
+            if (Long.bitCount(sub) == k) {
+                expand(combination, v - 1, partial | sub);
+            }
+        }
+    }
+
+    /** First capture found, or 0 if the card cannot capture anything. */
+    public long first(long table, int playedValue) {
+        CaptureCache.Entry entry = prepare(table, playedValue);
+        return entry.size() == 0 ? 0L : select(entry.combination(0), 0L);
+    }
+
+    /**
+     * A capture chosen uniformly among all captures, or 0 if there is none.
+     * Picks a combination weighted by how many card captures it stands for, then
+     * the cards within it, instead of materialising every capture.
+     */
+    public long random(long table, int playedValue, Random random) {
+        CaptureCache.Entry entry = prepare(table, playedValue);
+        long total = entry.total();
+        if (total == 0) return 0L;
+        long index = total <= Integer.MAX_VALUE
+                ? random.nextInt((int) total)
+                : (random.nextLong() >>> 1) % total;
+        int i = entry.find(index);
+        return select(entry.combination(i), index - entry.before(i));
+    }
+
+    // Picks the index-th card capture of a combination, in mixed radix over the values
+    private long select(long combination, long index) {
+        long capture = 0L;
+        for (int v = MAX_VALUE; v >= 1; v--) {
+            int k = CaptureCache.count(combination, v);
+            if (k == 0) continue;
+            long choices = CHOOSE[valueCounts[v]][k];
+            capture |= nthSubset(valueCards[v], k, index % choices);
+            index /= choices;
+        }
+        return capture;
+    }
+
+    private static long nthSubset(long cards, int k, long n) {
+        for (long sub = cards; sub != 0; sub = (sub - 1) & cards) {
+            if (Long.bitCount(sub) == k && n-- == 0) return sub;
+        }
+        return 0L;
+    }
+}
@@ -1,16 +1,55 @@
 package com.sweepgame.game;
 
-public class Card {
-    private Suit suit;
-    private Rank rank;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 
-    public Card() {
-        // Default constructor for serialization
+/**
+ * Immutable playing card. There are exactly 40 instances, one per suit and rank,
+ * obtained through {@link #of(Suit, Rank)} or {@link #byId(int)}, so cards can be
+ * compared by identity and their {@link #id()} used to index arrays and masks.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public final class Card {
+    private static final Card[] CARDS = new Card[CardMask.DECK_SIZE];
+
+    static {
+        for (Suit suit : Suit.values()) {
+            for (Rank rank : Rank.values()) {
+                Card card = new Card(suit, rank, CardMask.id(suit, rank));
+                CARDS[card.id] = card;
+            }
+        }
     }
 
-    public Card(Suit suit, Rank rank) {
+    private final Suit suit;
+    private final Rank rank;
+    private final int id;
+
+    private Card(Suit suit, Rank rank, int id) {
         this.suit = suit;
         this.rank = rank;
+        this.id = id;
+    }
+
+    // Deserialisers resolve to the canonical instance instead of creating copies
+    @JsonCreator
+    public static Card of(@JsonProperty("suit") Suit suit, @JsonProperty("rank") Rank rank) {
+        if (suit == null || rank == null) {
+            throw new IllegalArgumentException("Card needs a suit and a rank: " + suit + ", " + rank);
+        }
+        return CARDS[CardMask.id(suit, rank)];
+    }
+
+    public static Card byId(int id) {
+        if (id < 0 || id >= CardMask.DECK_SIZE) {
+            throw new IllegalArgumentException("Invalid card id: " + id);
+        }
+        return CARDS[id];
+    }
+
+    public int id() {
+        return id;
     }
 
     public Suit getSuit() {
@@ -25,6 +64,16 @@ public class Card {
         return rank.getValue();
     }
 
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Card && ((Card) o).id == id;
+    }
+
+    @Override
+    public int hashCode() {
+        return id;
+    }
+
     @Override
     public String toString() {
         return rank + " of " + suit;
@@ -0,0 +1,98 @@
+package com.sweepgame.game;
+
+import java.util.List;
+
+/**
+ * Bit helpers for the 40-card deck. Every card maps to one bit of a long
+ * (suit * 10 + rank ordinal), so any set of cards is a single primitive mask.
+ */
+public final class CardMask {
+
+    public static final int DECK_SIZE = 40;
+    public static final long ALL = (1L << DECK_SIZE) - 1;
+    private static final int RANKS = Rank.values().length;
+
+    private static final int[] VALUES = new int[DECK_SIZE];
+    private static final long[] VALUE_MASKS = new long[11];
+    public static final long DIAMONDS;
+    public static final long SEVENS;
+
+    static {
+        long diamonds = 0L;
+        long sevens = 0L;
+        for (Suit suit : Suit.values()) {
+            for (Rank rank : Rank.values()) {
+                int id = id(suit, rank);
+                VALUES[id] = rank.getValue();
+                VALUE_MASKS[rank.getValue()] |= 1L << id;
+                if (suit == Suit.DIAMONDS) diamonds |= 1L << id;
+                if (rank == Rank.SEVEN) sevens |= 1L << id;
+            }
+        }
+        DIAMONDS = diamonds;
+        SEVENS = sevens;
+    }
+
+    private CardMask() {
+    }
+
+    public static int id(Suit suit, Rank rank) {
+        return suit.ordinal() * RANKS + rank.ordinal();
+    }
+
+    public static int id(Card card) {
+        return card.id();
+    }
+
+    public static long bit(Card card) {
+        return 1L << card.id();
+    }
+
+    public static long of(List<Card> cards) {
+        long mask = 0L;
+        for (int i = 0; i < cards.size(); i++) {
+            mask |= bit(cards.get(i));
+        }
+        return mask;
+    }
+
+    /** Appends the cards of {@code mask} to {@code out} in id order. */
+    public static void addCards(long mask, List<Card> out) {
+        while (mask != 0) {
+            out.add(Card.byId(Long.numberOfTrailingZeros(mask)));
+            mask &= mask - 1;
+        }
+    }
+
+    public static int value(int id) {
+        return VALUES[id];
+    }
+
+    /** All four cards of the given value (1-10). */
+    public static long ofValue(int value) {
+        return VALUE_MASKS[value];
+    }
+
+    public static int sum(long mask) {
+        int sum = 0;
+        while (mask != 0) {
+            sum += VALUES[Long.numberOfTrailingZeros(mask)];
+            mask &= mask - 1;
+        }
+        return sum;
+    }
+
+    public static int count(long mask) {
+        return Long.bitCount(mask);
+    }
+
+    public static boolean contains(long mask, int id) {
+        return (mask & (1L << id)) != 0;
+    }
+
+    // Card points of ScoringRules.SWEEP: each diamond and each seven is a point,
+    // so the seven of diamonds counts twice
+    public static int points(long stack) {
+        return Long.bitCount(stack & DIAMONDS) + Long.bitCount(stack & SEVENS);
+    }
+}
@@ -2,59 +2,112 @@ package com.sweepgame.game;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import java.util.*;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 
 public class Deck {
     private static final Logger logger = LoggerFactory.getLogger(Deck.class);
-    
-    private final List<Card> cards = new ArrayList<>();
+
+    // Card ids in draw order; cards before cursor have already been drawn
+    private final byte[] ids = new byte[CardMask.DECK_SIZE];
+    private int cursor;
+    private final boolean verbose;
 
     public Deck() {
+        this(EngineMode.VERBOSE);
+    }
+
+    public Deck(EngineMode mode) {
+        this.verbose = mode == EngineMode.VERBOSE;
         initializeDeck();
     }
 
     private void initializeDeck() {
-        cards.clear();
+        int i = 0;
         for (Suit suit : Suit.values()) {
             for (Rank rank : Rank.values()) {
                 // Skip 8, 9, 10 cards (already omitted in Rank enum)
-                cards.add(new Card(suit, rank));
+                ids[i++] = (byte) CardMask.id(suit, rank);
             }
         }
-        logger.debug("Deck initialized with {} cards", cards.size());
+        cursor = 0;
+        if (verbose) logger.debug("Deck initialized with {} cards", size());
     }
 
     public void shuffle() {
-        Collections.shuffle(cards);
-        logger.debug("Deck shuffled");
+        shuffle(ThreadLocalRandom.current());
+    }
+
+    public void shuffle(long seed) {
+        shuffle(new Random(seed));
+    }
+
+    // Fisher-Yates over the cards that are still in the deck. Takes java.util.Random because
+    // the Android app (minSdk 21) runs this code: RandomGenerator is not there even with
+    // desugaring, and SplittableRandom needs API 24
+    public void shuffle(Random random) {
+        for (int i = CardMask.DECK_SIZE - 1; i > cursor; i--) {
+            int j = cursor + random.nextInt(i - cursor + 1);
+            byte tmp = ids[i];
+            ids[i] = ids[j];
+            ids[j] = tmp;
+        }
+        if (verbose) logger.debug("Deck shuffled");
     }
 
     public Card draw() {
-        if (!cards.isEmpty()) {
-            Card drawn = cards.remove(0);
-            logger.debug("Card drawn: {}, {} cards remaining", drawn, cards.size());
+        if (cursor < CardMask.DECK_SIZE) {
+            Card drawn = Card.byId(ids[cursor++]);
+            if (verbose) logger.debug("Card drawn: {}, {} cards remaining", drawn, size());
             return drawn;
         }
         logger.warn("Attempted to draw from empty deck");
         return null; // deck empty
     }
 
+    /**
+     * Moves up to {@code n} cards straight into the player's hand.
+     * Returns how many cards were dealt.
+     */
+    public int deal(int n, Player player) {
+        int count = Math.min(n, size());
+        List<Card> hand = player.getHand();
+        for (int i = 0; i < count; i++) {
+            hand.add(Card.byId(ids[cursor + i]));
+        }
+        cursor += count;
+        if (verbose) logger.debug("Dealt {} cards to {}, {} cards remaining", count, player.getName(), size());
+        return count;
+    }
+
     public boolean isEmpty() {
-        return cards.isEmpty();
+        return cursor >= CardMask.DECK_SIZE;
     }
 
     @Override
     public String toString() {
-        return cards.toString();
+        return getCards().toString();
     }
 
     public int size() {
-        return cards.size();
+        return CardMask.DECK_SIZE - cursor;
     }
 
+    /** Id of the i-th remaining card in draw order. */
+    public int peekId(int i) {
+        return ids[cursor + i];
+    }
+
+    /** Remaining cards in draw order, as a read-only copy. */
     public List<Card> getCards() {
-        return cards;
+        List<Card> cards = new ArrayList<>(size());
+        for (int i = cursor; i < CardMask.DECK_SIZE; i++) {
+            cards.add(Card.byId(ids[i]));
+        }
+        return Collections.unmodifiableList(cards);
     }
 }
@@ -0,0 +1,16 @@
+package com.sweepgame.game;
+
+/**
+ * Logging level of the game engine, fixed when a {@link SweepLogic}, {@link Deck} or
+ * {@link Player} is created.
+ */
+public enum EngineMode {
+    /** Logs every deal, play and score at DEBUG/INFO, as the interactive client does. */
+    VERBOSE,
+    /**
+     * No per-move or per-game logging, not even argument boxing; warnings about invalid
+     * calls are still logged. Use {@link SweepLogic}'s counters or a
+     * {@link GameEventListener} to observe the game instead.
+     */
+    QUIET
+}
@@ -0,0 +1,30 @@
+package com.sweepgame.game;
+
+/**
+ * Receives {@link SweepLogic} events as they happen. Seats are indices into
+ * {@link SweepLogic#getPlayers()} and cards are masks (see {@link CardMask}), so
+ * firing an event allocates nothing.
+ */
+public interface GameEventListener {
+
+    /** A new game is about to be dealt; listeners should drop any previous state. */
+    void onGameStarted(int seats, int startingSeat);
+
+    /** {@code cards} went from the deck into {@code seat}'s hand. */
+    void onCardsDealt(int seat, long cards);
+
+    /**
+     * The opening table was dealt. If it summed to 15 it was swept straight away by
+     * {@code sweepSeat}, otherwise {@code sweepSeat} is -1.
+     */
+    void onTableDealt(long cards, int sweepSeat);
+
+    /**
+     * {@code seat} played {@code cardId}, capturing {@code captured} (0 if the card
+     * was laid on the table); {@code sweep} is true if the capture cleared the table.
+     */
+    void onCardPlayed(int seat, int cardId, long captured, boolean sweep);
+
+    /** The game ended and the {@code leftover} table cards went to {@code lastSeat}. */
+    void onGameFinished(int lastSeat, long leftover);
+}
@@ -0,0 +1,114 @@
+package com.sweepgame.game;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Table layout of a game: the number of seats (2-6) and how they form teams.
+ * Partners sit across the table, so seat {@code s} plays for team {@code s % teams};
+ * without teams every seat is its own team and {@code teamOf(s) == s}.
+ * Instances are shared constants, compare them with {@code ==}.
+ */
+public final class GameFormat {
+
+    private static final GameFormat[][] FORMATS =
+            new GameFormat[SweepState.MAX_SEATS + 1][SweepState.MAX_SEATS + 1];
+    private static final List<GameFormat> ALL;
+
+    static {
+        List<GameFormat> all = new ArrayList<>();
+        for (int seats = SweepState.MIN_SEATS; seats <= SweepState.MAX_SEATS; seats++) {
+            for (int teamSize = 1; teamSize <= seats / 2; teamSize++) {
+                if (seats % teamSize == 0) {
+                    FORMATS[seats][teamSize] = new GameFormat(seats, teamSize);
+                    all.add(FORMATS[seats][teamSize]);
+                }
+            }
+        }
+        ALL = Collections.unmodifiableList(all);
+    }
+
+    public static final GameFormat TWO_PLAYERS = of(2, 1);
+    public static final GameFormat THREE_PLAYERS = of(3, 1);
+    public static final GameFormat FOUR_PLAYERS = of(4, 1);
+    public static final GameFormat TEAMS_2V2 = of(4, 2);
+
+    private final int seats;
+    private final int teamSize;
+    private final int teams;
+    private final String name;
+
+    private GameFormat(int seats, int teamSize) {
+        this.seats = seats;
+        this.teamSize = teamSize;
+        this.teams = seats / teamSize;
+        StringBuilder sb = new StringBuilder();
+        if (teamSize == 1) {
+            sb.append(seats).append('p');
+        } else {
+            for (int t = 0; t < teams; t++) {
+                if (t > 0) sb.append('v');
+                sb.append(teamSize);
+            }
+        }
+        this.name = sb.toString();
+    }
+
+    /** Format with {@code seats} seats in teams of {@code teamSize} (1 for every player alone). */
+    public static GameFormat of(int seats, int teamSize) {
+        if (seats < SweepState.MIN_SEATS || seats > SweepState.MAX_SEATS
+                || teamSize < 1 || teamSize > SweepState.MAX_SEATS || FORMATS[seats][teamSize] == null) {
+            throw new IllegalArgumentException("Unsupported format: " + seats + " seats, teams of " + teamSize);
+        }
+        return FORMATS[seats][teamSize];
+    }
+
+    public static GameFormat of(int seats) {
+        return of(seats, 1);
+    }
+
+    /** Parses a {@link #getName()} such as "3p" or "2v2". */
+    public static GameFormat parse(String name) {
+        for (GameFormat f : ALL) {
+            if (f.name.equalsIgnoreCase(name)) return f;
+        }
+        throw new IllegalArgumentException("Unknown format: " + name);
+    }
+
+    /** Every supported format. */
+    public static List<GameFormat> all() {
+        return ALL;
+    }
+
+    /** One-byte form for {@link GameLog}: seat count, team size - 1 in the high nibble. */
+    int encode() {
+        return seats | (teamSize - 1) << 4;
+    }
+
+    static GameFormat decode(int b) {
+        return of(b & 0x0F, (b >>> 4) + 1);
+    }
+
+    public int getSeats() { return seats; }
+    public int getTeamSize() { return teamSize; }
+    public int getTeams() { return teams; }
+    public boolean isTeamGame() { return teamSize > 1; }
+    public String getName() { return name; }
+
+    public int teamOf(int seat) {
+        return seat % teams;
+    }
+
+    /** Seats of {@code team} as a bitmask of seat indices. */
+    public int teamSeats(int team) {
+        int mask = 0;
+        for (int s = team; s < seats; s += teams) mask |= 1 << s;
+        return mask;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,87 @@
+package com.sweepgame.game;
+
+import com.sweepgame.game.wire.WireWriter;
+
+import java.util.Arrays;
+
+/**
+ * Append-only binary record of one game, written by {@link SweepLogic} as it is played
+ * and read back by {@link SweepLogic#replay(byte[])}. The shuffle is reproduced from
+ * the seed, so only the moves need recording:
+ * <pre>
+ * header   version, format (seat count, team size - 1 in the high nibble),
+ *          starting seat, seed (8 bytes, big-endian), scoring rules (a preset
+ *          number, or 0 and the whole rule set, see {@link ScoringRules})
+ * play     card id | 0x40 if it captured, then one byte per captured card id,
+ *          the last one or'ed with 0x80
+ * deal     0xF0 (dealNewRound)
+ * finish   0xF1 (finishGame)
+ * </pre>
+ * A whole game is around a hundred bytes. Version 1 logs have no rules and were
+ * all scored with {@link ScoringRules#SWEEP}.
+ */
+public final class GameLog {
+    public static final int VERSION = 2;
+    // Fixed part of the header, before the scoring rules
+    static final int HEADER_SIZE = 11;
+
+    static final int CAPTURE_FLAG = 0x40;
+    static final int LAST_FLAG = 0x80;
+    static final int CARD_MASK = 0x3F;
+    static final int DEAL = 0xF0;
+    static final int FINISH = 0xF1;
+
+    private byte[] bytes = new byte[128];
+    private int size;
+
+    void start(long seed, GameFormat format, ScoringRules rules, int startingSeat) {
+        size = 0;
+        write(VERSION);
+        write(format.encode());
+        write(startingSeat);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            write((int) (seed >>> shift));
+        }
+        WireWriter out = new WireWriter();
+        rules.write(out);
+        for (byte b : out.toByteArray()) {
+            write(b);
+        }
+    }
+
+    void played(int cardId, long captured) {
+        if (captured == 0L) {
+            write(cardId);
+            return;
+        }
+        write(cardId | CAPTURE_FLAG);
+        while (captured != 0) {
+            int id = Long.numberOfTrailingZeros(captured);
+            captured &= captured - 1;
+            write(captured == 0 ? id | LAST_FLAG : id);
+        }
+    }
+
+    void dealt() {
+        write(DEAL);
+    }
+
+    void finished() {
+        write(FINISH);
+    }
+
+    private void write(int b) {
+        if (size == bytes.length) {
+            bytes = Arrays.copyOf(bytes, size * 2);
+        }
+        bytes[size++] = (byte) b;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(bytes, size);
+    }
+}
@@ -0,0 +1,76 @@
+package com.sweepgame.game;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable view of a {@link SweepLogic} after a complete move. Once
+ * {@link SweepLogic#enableSnapshots()} is called the engine publishes a new one after
+ * every change, so broadcasts, serializers and monitoring can read it from any thread
+ * without locking and never see a half-applied move. Cards are the shared
+ * {@link Card} instances, so a snapshot costs a few small arrays.
+ */
+public final class GameSnapshot {
+    static final GameSnapshot EMPTY = new GameSnapshot(0L, new String[0], Collections.<List<Card>>emptyList(), new PlayerScore[0],
+            Collections.<Card>emptyList(), Collections.<Card>emptyList(), 0, 0, false);
+
+    private final long version;
+    private final String[] names;
+    private final List<List<Card>> hands;
+    private final PlayerScore[] scores;
+    private final List<Card> table;
+    private final List<Card> lastCollected;
+    private final int currentSeat;
+    private final int deckSize;
+    private final boolean gameOver;
+
+    private GameSnapshot(long version, String[] names, List<List<Card>> hands, PlayerScore[] scores,
+                         List<Card> table, List<Card> lastCollected, int currentSeat, int deckSize,
+                         boolean gameOver) {
+        this.version = version;
+        this.names = names;
+        this.hands = hands;
+        this.scores = scores;
+        this.table = table;
+        this.lastCollected = lastCollected;
+        this.currentSeat = currentSeat;
+        this.deckSize = deckSize;
+        this.gameOver = gameOver;
+    }
+
+    static GameSnapshot of(long version, List<Player> players, PlayerScore[] scores, List<Card> table, List<Card> lastCollected,
+                           int currentSeat, int deckSize, boolean gameOver) {
+        int seats = players.size();
+        String[] names = new String[seats];
+        List<List<Card>> hands = new ArrayList<>(seats);
+        for (int s = 0; s < seats; s++) {
+            Player p = players.get(s);
+            names[s] = p.getName();
+            hands.add(copy(p.getHand()));
+        }
+        return new GameSnapshot(version, names, Collections.unmodifiableList(hands), scores, copy(table), copy(lastCollected),
+                currentSeat, deckSize, gameOver);
+    }
+
+    private static List<Card> copy(List<Card> cards) {
+        if (cards.isEmpty()) return Collections.emptyList();
+        return Collections.unmodifiableList(Arrays.asList(cards.toArray(new Card[0])));
+    }
+
+    /**
+     * Number of changes the engine had made, so readers can skip unchanged states.
+     * Snapshots built on request may skip versions.
+     */
+    public long getVersion() { return version; }
+    public int getSeats() { return names.length; }
+    public String getName(int seat) { return names[seat]; }
+    public List<Card> getHand(int seat) { return hands.get(seat); }
+    public PlayerScore getScore(int seat) { return scores[seat]; }
+    public List<Card> getTableCards() { return table; }
+    public List<Card> getLastCollectedCards() { return lastCollected; }
+    public int getCurrentSeat() { return currentSeat; }
+    public int getDeckSize() { return deckSize; }
+    public boolean isGameOver() { return gameOver; }
+}
@@ -0,0 +1,43 @@
+package com.sweepgame.game;
+
+/**
+ * Primitive move encoding: a move is a long holding the captured table cards as a
+ * card mask in bits 0-39 and the played card id in bits 40-45. A capture mask of 0
+ * means the card is laid on the table.
+ */
+public final class Move {
+    private static final int CARD_SHIFT = CardMask.DECK_SIZE;
+
+    private Move() {
+    }
+
+    public static long of(int cardId, long capture) {
+        return ((long) cardId << CARD_SHIFT) | (capture & CardMask.ALL);
+    }
+
+    public static int card(long move) {
+        return (int) (move >>> CARD_SHIFT);
+    }
+
+    public static long capture(long move) {
+        return move & CardMask.ALL;
+    }
+
+    public static boolean isCapture(long move) {
+        return (move & CardMask.ALL) != 0L;
+    }
+
+    public static String toString(long move) {
+        StringBuilder sb = new StringBuilder(Card.byId(card(move)).toString());
+        long capture = capture(move);
+        if (capture == 0L) {
+            return sb.append(" to table").toString();
+        }
+        sb.append(" takes");
+        while (capture != 0) {
+            sb.append(' ').append(Card.byId(Long.numberOfTrailingZeros(capture)));
+            capture &= capture - 1;
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,55 @@
+package com.sweepgame.game;
+
+/**
+ * Lists the legal moves for a hand against a table: every hand card may be laid on
+ * the table, and may take any set of table cards that sums to 15 with it.
+ * Reusable and allocation-free once the output list has grown; not thread-safe.
+ */
+public final class MoveGenerator {
+    private final CaptureFinder finder;
+
+    private MoveList out;
+    private int cardId;
+    private final CaptureFinder.CaptureVisitor collector = new CaptureFinder.CaptureVisitor() {
+        @Override
+        public boolean visit(long capture) {
+            out.add(Move.of(cardId, capture));
+            return true;
+        }
+    };
+
+    public MoveGenerator() {
+        this(new CaptureFinder());
+    }
+
+    public MoveGenerator(CaptureFinder finder) {
+        this.finder = finder;
+    }
+
+    /** Appends the legal moves to {@code out} (after clearing it) and returns their count. */
+    public int generate(long hand, long table, MoveList out) {
+        out.clear();
+        this.out = out;
+        try {
+            long rest = hand;
+            while (rest != 0) {
+                cardId = Long.numberOfTrailingZeros(rest);
+                rest &= rest - 1;
+                out.add(Move.of(cardId, 0L));
+                finder.forEach(table, CardMask.value(cardId), collector);
+            }
+        } finally {
+            this.out = null;
+        }
+        return out.size();
+    }
+
+    public static boolean isLegal(long hand, long table, long move) {
+        int card = Move.card(move);
+        if (card >= CardMask.DECK_SIZE || !CardMask.contains(hand, card)) return false;
+        long capture = Move.capture(move);
+        return capture == 0L
+                || ((capture & ~table) == 0L
+                        && CardMask.value(card) + CardMask.sum(capture) == SweepState.TARGET_SUM);
+    }
+}
@@ -0,0 +1,66 @@
+package com.sweepgame.game;
+
+/**
+ * Reusable growable buffer of encoded moves (see {@link Move}).
+ */
+public final class MoveList {
+    private long[] moves;
+    private int size;
+
+    public MoveList() {
+        this(32);
+    }
+
+    public MoveList(int capacity) {
+        moves = new long[Math.max(capacity, 4)];
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public void add(long move) {
+        if (size == moves.length) {
+            long[] grown = new long[size * 2];
+            System.arraycopy(moves, 0, grown, 0, size);
+            moves = grown;
+        }
+        moves[size++] = move;
+    }
+
+    public long get(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("Move " + index + " of " + size);
+        }
+        return moves[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(long move) {
+        return indexOf(move) >= 0;
+    }
+
+    public int indexOf(long move) {
+        for (int i = 0; i < size; i++) {
+            if (moves[i] == move) return i;
+        }
+        return -1;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(Move.toString(moves[i]));
+        }
+        return sb.append(']').toString();
+    }
+}
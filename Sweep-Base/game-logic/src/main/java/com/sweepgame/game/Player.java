@@ -3,18 +3,39 @@ package com.sweepgame.game;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 public class Player {
     private static final Logger logger = LoggerFactory.getLogger(Player.class);
     
     private final String name;
+    private int seat = -1;                                    // index in SweepLogic's seat array
     private final List<Card> hand = new ArrayList<>();        // current hand (max 3 cards)
     private final List<Card> pointsStack = new ArrayList<>(); // collected cards for points
+    private final List<Card> pointsStackView = Collections.unmodifiableList(pointsStack);
     private int brushes = 0;
 
+    // Running scoring totals, kept in step with pointsStack by collectCards
+    private final ScoringRules rules;
+    private long stackMask = 0L;
+    private int diamonds = 0;
+    private int sevens = 0;
+    private boolean sevenOfDiamonds = false;
+    private final boolean verbose;
+
     public Player(String name) {
+        this(name, EngineMode.VERBOSE);
+    }
+
+    public Player(String name, EngineMode mode) {
+        this(name, mode, ScoringRules.SWEEP);
+    }
+
+    public Player(String name, EngineMode mode, ScoringRules rules) {
         this.name = name;
+        this.verbose = mode == EngineMode.VERBOSE;
+        this.rules = rules;
     }
 
     public List<Card> getHand() {
@@ -29,50 +50,87 @@ public class Player {
         Card card = deck.draw();
         if (card != null) {
             hand.add(card);
-            logger.debug("{}: Drew card {}", name, card);
+            if (verbose) logger.debug("{}: Drew card {}", name, card);
         } else {
             logger.warn("{}: Tried to draw from empty deck", name);
         }
     }
 
     public List<Card> getPointsStack() {
-        return pointsStack;
+        return pointsStackView;
     }
 
     public void collectCards(List<Card> cards) {
         if (cards != null && !cards.isEmpty()) {
             pointsStack.addAll(cards);
-            logger.debug("{}: Collected {} cards", name, cards.size());
+            for (int i = 0; i < cards.size(); i++) {
+                Card c = cards.get(i);
+                stackMask |= CardMask.bit(c);
+                boolean diamond = c.getSuit() == Suit.DIAMONDS;
+                boolean seven = c.getRank() == Rank.SEVEN;
+                if (diamond) diamonds++;
+                if (seven) sevens++;
+                if (diamond && seven) sevenOfDiamonds = true;
+            }
+            if (verbose) logger.debug("{}: Collected {} cards", name, cards.size());
         }
     }
 
     public void incrementBrushes() {
         brushes++;
-        logger.debug("{}: Sweep! Total sweeps: {}", name, brushes);
+        if (verbose) logger.debug("{}: Sweep! Total sweeps: {}", name, brushes);
     }
 
     public int getBrushes() {
         return brushes;
     }
 
+    /**
+     * Card points of the collected stack under this player's {@link ScoringRules}
+     * (by default each diamond and each 7, so the 7 of diamonds counts twice).
+     * Aggregate rules need the other stacks and are added by {@link SweepLogic}.
+     */
     public int calculatePoints() {
-        int points = 0;
-        for (Card c : pointsStack) {
-            if (c.getSuit() == Suit.DIAMONDS && c.getRank() == Rank.SEVEN){
-                points += 2;// 7 of diamonds = 2 points
-            }
-            else if (c.getSuit() == Suit.DIAMONDS){
-                points++;           // each diamond = 1 point
-            }
-            else if (c.getRank() == Rank.SEVEN){
-                points++; // each 7 = 1 point
-            }
-        }
-        
-        logger.debug("{}: Calculated {} points from {} cards", name, points, pointsStack.size());
+        int points = rules.cardPoints(stackMask);
+        if (verbose) logger.debug("{}: Calculated {} points from {} cards", name, points, pointsStack.size());
         return points;
     }
 
+    public int getDiamonds() {
+        return diamonds;
+    }
+
+    public int getSevens() {
+        return sevens;
+    }
+
+    public boolean hasSevenOfDiamonds() {
+        return sevenOfDiamonds;
+    }
+
+    /** Collected cards as a {@link CardMask} mask. */
+    public long getStackMask() {
+        return stackMask;
+    }
+
+    public int getCollectedCount() {
+        return pointsStack.size();
+    }
+
+    /**
+     * Copies the current totals into {@code score} so callers can reuse one
+     * snapshot object across updates.
+     */
+    public PlayerScore fillScore(PlayerScore score) {
+        int points = rules.cardPoints(stackMask);
+        score.set(points, brushes, points + rules.brushPoints(brushes), pointsStack.size(), diamonds, sevens, sevenOfDiamonds);
+        return score;
+    }
+
+    public PlayerScore getScore() {
+        return fillScore(new PlayerScore());
+    }
+
     @Override
     public String toString() {
         return name;
@@ -81,4 +139,13 @@ public class Player {
     public String getName() {
         return name;
     }
+
+    /** Seat index in {@link SweepLogic}, or -1 for a player outside a game. */
+    public int getSeat() {
+        return seat;
+    }
+
+    void setSeat(int seat) {
+        this.seat = seat;
+    }
 }
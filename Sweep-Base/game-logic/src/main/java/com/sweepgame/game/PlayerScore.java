@@ -0,0 +1,68 @@
+package com.sweepgame.game;
+
+/**
+ * Snapshot of a player's (or a team's) scoring totals, filled by
+ * {@link Player#fillScore(PlayerScore)} or {@link SweepLogic#fillTeamScores}.
+ * Mutable so the server and UI can keep one instance per seat and refresh it in place.
+ */
+public class PlayerScore {
+    private int points;
+    private int brushes;
+    private int bonus;
+    private int total;
+    private int cards;
+    private int diamonds;
+    private int sevens;
+    private boolean sevenOfDiamonds;
+
+    void set(int points, int brushes, int total, int cards, int diamonds, int sevens, boolean sevenOfDiamonds) {
+        this.points = points;
+        this.brushes = brushes;
+        this.bonus = 0;
+        this.total = total;
+        this.cards = cards;
+        this.diamonds = diamonds;
+        this.sevens = sevens;
+        this.sevenOfDiamonds = sevenOfDiamonds;
+    }
+
+    void clear() {
+        set(0, 0, 0, 0, 0, 0, false);
+    }
+
+    /** Adds another score's totals, used to sum a team. */
+    void add(PlayerScore other) {
+        points += other.points;
+        brushes += other.brushes;
+        bonus += other.bonus;
+        total += other.total;
+        cards += other.cards;
+        diamonds += other.diamonds;
+        sevens += other.sevens;
+        sevenOfDiamonds |= other.sevenOfDiamonds;
+    }
+
+    void addBonus(int points) {
+        bonus += points;
+        total += points;
+    }
+
+    public int getPoints() { return points; }
+    public int getBrushes() { return brushes; }
+    /** Points from {@link ScoringRules.Aggregate} rules such as most cards; only set by {@link SweepLogic}. */
+    public int getBonus() { return bonus; }
+    public int getCards() { return cards; }
+    public int getDiamonds() { return diamonds; }
+    public int getSevens() { return sevens; }
+    public boolean hasSevenOfDiamonds() { return sevenOfDiamonds; }
+
+    /** Card points, sweep points and bonus, the value compared by {@link SweepLogic#getWinner()}. */
+    public int getTotal() { return total; }
+
+    @Override
+    public String toString() {
+        String text = points + " pts + " + brushes + " sweeps";
+        if (bonus != 0) text += " + " + bonus + " bonus";
+        return text + " (" + cards + " cards)";
+    }
+}
@@ -0,0 +1,275 @@
+package com.sweepgame.game;
+
+import com.sweepgame.game.wire.WireReader;
+import com.sweepgame.game.wire.WireWriter;
+
+import java.util.Arrays;
+
+/**
+ * A scoring rule set compiled for fast evaluation. Per-card points are given as one
+ * weight per card id and stored as bit planes (plane k holds the cards whose weight
+ * has bit k set), so the card points of a stack are a few masked popcounts. Rules
+ * that compare stacks between seats, like most cards or best primiera, are
+ * {@link Aggregate}s: each awards its points to the single seat with the highest
+ * count, and nobody on a tie.
+ * <p>
+ * Instances are immutable and can be shared between games and threads.
+ */
+public final class ScoringRules {
+
+    /** House rules: every diamond and every seven is a point (the 7 of diamonds two), one per sweep. */
+    public static final ScoringRules SWEEP = new ScoringRules("Sweep",
+        add(weights(CardMask.DIAMONDS, 1), CardMask.SEVENS, 1), 1);
+
+    /**
+     * Spanish escoba: one point each for most cards, most golds (diamonds), most sevens
+     * and the 7 of golds, one per escoba.
+     */
+    public static final ScoringRules ESCOBA = new ScoringRules("Escoba",
+        weights(sevenOfDiamonds(), 1), 1,
+        Aggregate.most(CardMask.ALL, 1), Aggregate.most(CardMask.DIAMONDS, 1), Aggregate.most(CardMask.SEVENS, 1));
+
+    /**
+     * Italian scopa: one point each for most cards, most coins (diamonds), the
+     * settebello (7 of coins) and the primiera, one per scopa.
+     */
+    public static final ScoringRules SCOPA = new ScoringRules("Scopa",
+        weights(sevenOfDiamonds(), 1), 1,
+        Aggregate.most(CardMask.ALL, 1), Aggregate.most(CardMask.DIAMONDS, 1), Aggregate.primiera(1));
+
+    // Rule sets a GameLog records by number; the index + 1 is the number, 0 means written out
+    private static final ScoringRules[] PRESETS = {SWEEP, ESCOBA, SCOPA};
+
+    // Primiera value of each rank ordinal (ACE..SEVEN, JACK, QUEEN, KING)
+    private static final int[] PRIMIERA_VALUES = {16, 12, 13, 14, 15, 18, 21, 10, 10, 10};
+    private static final int RANKS = PRIMIERA_VALUES.length;
+    private static final int SUITS = CardMask.DECK_SIZE / RANKS;
+    // Best primiera value for each 10-bit set of ranks within one suit
+    private static final byte[] PRIMIERA_BEST = new byte[1 << RANKS];
+
+    static {
+        for (int set = 1; set < PRIMIERA_BEST.length; set++) {
+            int low = Integer.numberOfTrailingZeros(set);
+            PRIMIERA_BEST[set] = (byte) Math.max(PRIMIERA_VALUES[low], PRIMIERA_BEST[set & (set - 1)]);
+        }
+    }
+
+    private final String name;
+    private final int[] weights;
+    private final long[] planes;
+    private final int brushPoints;
+    private final Aggregate[] aggregates;
+    private final int maxPoints;
+
+    /**
+     * @param weights     points for each card id, length {@link CardMask#DECK_SIZE}, none negative
+     * @param brushPoints points for each sweep
+     * @param aggregates  rules comparing stacks between seats
+     */
+    public ScoringRules(String name, int[] weights, int brushPoints, Aggregate... aggregates) {
+        if (weights.length != CardMask.DECK_SIZE) {
+            throw new IllegalArgumentException("Need one weight per card, got " + weights.length);
+        }
+        int highest = 0;
+        int total = 0;
+        for (int w : weights) {
+            if (w < 0) throw new IllegalArgumentException("Negative card weight " + w);
+            highest |= w;
+            total += w;
+        }
+        this.name = name;
+        this.weights = weights.clone();
+        this.planes = new long[32 - Integer.numberOfLeadingZeros(highest)];
+        for (int id = 0; id < CardMask.DECK_SIZE; id++) {
+            for (int k = 0; k < planes.length; k++) {
+                if ((weights[id] >>> k & 1) != 0) planes[k] |= 1L << id;
+            }
+        }
+        this.brushPoints = brushPoints;
+        this.aggregates = aggregates.clone();
+        for (Aggregate a : aggregates) total += a.points;
+        this.maxPoints = total;
+    }
+
+    /** Weight array giving {@code points} to every card of {@code mask} and nothing to the rest. */
+    public static int[] weights(long mask, int points) {
+        return add(new int[CardMask.DECK_SIZE], mask, points);
+    }
+
+    /** Adds {@code points} to the weight of every card of {@code mask} and returns {@code weights}. */
+    public static int[] add(int[] weights, long mask, int points) {
+        while (mask != 0) {
+            weights[Long.numberOfTrailingZeros(mask)] += points;
+            mask &= mask - 1;
+        }
+        return weights;
+    }
+
+    private static long sevenOfDiamonds() {
+        return CardMask.DIAMONDS & CardMask.SEVENS;
+    }
+
+    /** Points for the cards of {@code stack}, without aggregates or sweeps. */
+    public int cardPoints(long stack) {
+        int points = 0;
+        for (int k = 0; k < planes.length; k++) {
+            points += Long.bitCount(stack & planes[k]) << k;
+        }
+        return points;
+    }
+
+    public int cardWeight(int id) {
+        return weights[id];
+    }
+
+    public int brushPoints(int brushes) {
+        return brushes * brushPoints;
+    }
+
+    public boolean hasAggregates() {
+        return aggregates.length > 0;
+    }
+
+    /**
+     * Aggregate points for each of the first {@code seats} stacks, written to {@code out}.
+     */
+    public void aggregatePoints(long[] stacks, int seats, int[] out) {
+        Arrays.fill(out, 0, seats, 0);
+        for (Aggregate a : aggregates) {
+            int best = 0;
+            int leader = -1;
+            for (int s = 0; s < seats; s++) {
+                int count = a.count(stacks[s]);
+                if (count > best) {
+                    best = count;
+                    leader = s;
+                } else if (count == best) {
+                    leader = -1;
+                }
+            }
+            if (leader >= 0) out[leader] += a.points;
+        }
+    }
+
+    /**
+     * Total score (cards, sweeps and aggregates) for each of the first {@code seats}
+     * seats, written to {@code out}.
+     */
+    public void score(long[] stacks, int[] brushes, int seats, int[] out) {
+        aggregatePoints(stacks, seats, out);
+        for (int s = 0; s < seats; s++) {
+            out[s] += cardPoints(stacks[s]) + brushes[s] * brushPoints;
+        }
+    }
+
+    /**
+     * Writes these rules for a {@link GameLog}: the preset number of a built-in rule
+     * set, or 0 followed by the name, sweep points, card weights and aggregates.
+     */
+    void write(WireWriter out) {
+        for (int i = 0; i < PRESETS.length; i++) {
+            if (PRESETS[i] == this) {
+                out.writeVarint(i + 1);
+                return;
+            }
+        }
+        out.writeVarint(0);
+        out.writeString(name);
+        out.writeVarint(brushPoints);
+        for (int w : weights) {
+            out.writeVarint(w);
+        }
+        out.writeVarint(aggregates.length);
+        for (Aggregate a : aggregates) {
+            out.writeByte(a.primiera ? 1 : 0);
+            out.writeVarint(a.points);
+            for (int shift = 0; shift < CardMask.DECK_SIZE; shift += 8) {
+                out.writeByte((int) (a.mask >>> shift));
+            }
+        }
+    }
+
+    /** Reads rules written by {@link #write}; built-in presets come back as the same instance. */
+    static ScoringRules read(WireReader in) {
+        int preset = in.readVarint();
+        if (preset > 0) {
+            if (preset > PRESETS.length) {
+                throw new IllegalArgumentException("Unknown scoring rules preset: " + preset);
+            }
+            return PRESETS[preset - 1];
+        }
+        String name = in.readString();
+        int brushPoints = in.readVarint();
+        int[] weights = new int[CardMask.DECK_SIZE];
+        for (int id = 0; id < weights.length; id++) {
+            weights[id] = in.readVarint();
+        }
+        Aggregate[] aggregates = new Aggregate[in.readCount()];
+        for (int i = 0; i < aggregates.length; i++) {
+            boolean primiera = in.readByte() != 0;
+            int points = in.readVarint();
+            long mask = 0L;
+            for (int shift = 0; shift < CardMask.DECK_SIZE; shift += 8) {
+                mask |= (long) in.readByte() << shift;
+            }
+            aggregates[i] = new Aggregate(mask, primiera, points);
+        }
+        return new ScoringRules(name, weights, brushPoints, aggregates);
+    }
+
+    /** Sum of every card weight and aggregate, the most points the cards can give out. */
+    public int getMaxPoints() {
+        return maxPoints;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    /** Best primiera of {@code stack}: its top card in each suit, or 0 if a suit is missing. */
+    public static int primiera(long stack) {
+        int total = 0;
+        for (int suit = 0; suit < SUITS; suit++) {
+            int best = PRIMIERA_BEST[(int) (stack >>> (suit * RANKS)) & ((1 << RANKS) - 1)];
+            if (best == 0) return 0;
+            total += best;
+        }
+        return total;
+    }
+
+    /** A rule that gives its points to the seat with the single highest count. */
+    public static final class Aggregate {
+        private final long mask;
+        private final boolean primiera;
+        private final int points;
+
+        private Aggregate(long mask, boolean primiera, int points) {
+            this.mask = mask;
+            this.primiera = primiera;
+            this.points = points;
+        }
+
+        /** Most cards of {@code mask}, e.g. {@link CardMask#ALL} or {@link CardMask#DIAMONDS}. */
+        public static Aggregate most(long mask, int points) {
+            return new Aggregate(mask, false, points);
+        }
+
+        /** Best {@link ScoringRules#primiera(long)}. */
+        public static Aggregate primiera(int points) {
+            return new Aggregate(CardMask.ALL, true, points);
+        }
+
+        int count(long stack) {
+            return primiera ? ScoringRules.primiera(stack) : Long.bitCount(stack & mask);
+        }
+
+        public int getPoints() {
+            return points;
+        }
+    }
+}
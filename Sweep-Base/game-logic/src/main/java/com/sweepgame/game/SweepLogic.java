@@ -3,45 +3,278 @@ package com.sweepgame.game;
 import com.sweepgame.game.Card;
 import com.sweepgame.game.Deck;
 import com.sweepgame.game.Player;
+import com.sweepgame.game.wire.WireReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
 
 public class SweepLogic {
     private static final Logger logger = LoggerFactory.getLogger(SweepLogic.class);
+    // Seats past these are named "Player 4", "Player 5", ...
+    private static final String[] DEFAULT_NAMES = {"Johnny", "Joni", "Rodrigo"};
 
-    private final Deck deck = new Deck();
-    private final List<Player> players = new ArrayList<>();
+    private final Deck deck;
+
+    // Seat state: one Player per seat, indexed by seat; players is a fixed-size view of it
+    private final GameFormat format;
+    private final Player[] seats;
+    private List<Player> players = Collections.emptyList();
     private final List<Card> tableCards = new ArrayList<>();
     private int currentPlayerIndex = 0;
+    private int winningTeam = -1;                 // decided once, so random tie-breaks stay put
     private List<Card> lastCollected = new ArrayList<>();
+    private final CaptureFinder captureFinder = new CaptureFinder();
+    private final MoveGenerator moveGenerator = new MoveGenerator(captureFinder);
     private boolean isFirstRound = true;
+    private final List<GameEventListener> listeners = new ArrayList<>();
+    private final GameLog log = new GameLog();
+
+    // Scoring rule set, plus scratch arrays for team stacks and aggregate rules
+    private final ScoringRules rules;
+    private final long[] scoreStacks;
+    private final int[] scoreBonus;
+
+    // Last built immutable state, written only by the thread applying moves. The
+    // version counts every change; snapshots are rebuilt on each change only after
+    // enableSnapshots(), otherwise when snapshot() is asked for a newer version
+    private volatile GameSnapshot snapshot = GameSnapshot.EMPTY;
+    private volatile boolean publishSnapshots;
+    private long version;
+
+    // Always-on counters, the cheap alternative to logging in QUIET mode
+    private final boolean verbose;
+    private int playCount;
+    private int captureCount;
+    private int sweepCount;
+    private int roundCount;
+
+    // Per-game randomness: the engine stream drives shuffles and tie-breaks, the bot
+    // stream drives auto-selection and AI choices, so replaying the same seed and
+    // moves reproduces the game even if hints were requested in between.
+    private final long seed;
+    private final Random random;
+    private final Random botRandom;
+
+    public SweepLogic() {
+        this(ThreadLocalRandom.current().nextLong());
+    }
+
+    public SweepLogic(EngineMode mode) {
+        this(ThreadLocalRandom.current().nextLong(), mode);
+    }
+
+    public SweepLogic(long seed) {
+        this(seed, EngineMode.VERBOSE);
+    }
+
+    public SweepLogic(long seed, EngineMode mode) {
+        this(seed, mode, ScoringRules.SWEEP);
+    }
+
+    public SweepLogic(long seed, EngineMode mode, ScoringRules rules) {
+        this(seed, mode, rules, GameFormat.THREE_PLAYERS);
+    }
+
+    public SweepLogic(long seed, EngineMode mode, ScoringRules rules, GameFormat format) {
+        this.seed = seed;
+        this.rules = rules;
+        this.format = format;
+        this.seats = new Player[format.getSeats()];
+        this.scoreStacks = new long[format.getSeats()];
+        this.scoreBonus = new int[format.getSeats()];
+        this.verbose = mode == EngineMode.VERBOSE;
+        this.deck = new Deck(mode);
+        this.random = new Random(seed);
+        this.botRandom = new Random(seed * 0x9E3779B97F4A7C15L + 1);
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public ScoringRules getRules() {
+        return rules;
+    }
+
+    public GameFormat getFormat() {
+        return format;
+    }
+
+    public Random getBotRandom() {
+        return botRandom;
+    }
+
+    public void addListener(GameEventListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(GameEventListener listener) {
+        listeners.remove(listener);
+    }
+
+    public int getPlayCount() {
+        return playCount;
+    }
+
+    public int getCaptureCount() {
+        return captureCount;
+    }
+
+    /** Sweeps so far, including an opening table worth 15. */
+    public int getSweepCount() {
+        return sweepCount;
+    }
+
+    public int getRoundCount() {
+        return roundCount;
+    }
+
+    /**
+     * Builds a new {@link GameSnapshot} after every change from now on, so that
+     * {@link #snapshot()} can be called from any thread. Call it from the thread that
+     * applies the moves, before other threads get hold of this engine.
+     */
+    public void enableSnapshots() {
+        snapshot = buildSnapshot();
+        publishSnapshots = true;
+    }
+
+    /**
+     * The state after the last complete change; the returned object never changes.
+     * After {@link #enableSnapshots()} this is safe to call from any thread while
+     * another applies moves. Otherwise the snapshot is built here when the state has
+     * changed, so it must be called from the thread that applies the moves.
+     */
+    public GameSnapshot snapshot() {
+        GameSnapshot current = snapshot;
+        if (!publishSnapshots && current.getVersion() != version) {
+            current = buildSnapshot();
+            snapshot = current;
+        }
+        return current;
+    }
+
+    private void publish() {
+        version++;
+        if (publishSnapshots) {
+            snapshot = buildSnapshot();
+        }
+    }
+
+    private GameSnapshot buildSnapshot() {
+        return GameSnapshot.of(version, players, getScores(), tableCards, lastCollected,
+                currentPlayerIndex, deck.size(), isGameOver());
+    }
+
+    /** Binary record of the game so far, see {@link GameLog}. */
+    public GameLog getLog() {
+        return log;
+    }
+
+    /**
+     * Rebuilds a game from {@link GameLog#toByteArray()}: starts a new game with the
+     * recorded seed, format, scoring rules and starting seat, then re-applies every
+     * deal, play and finish in {@link EngineMode#QUIET} mode.
+     * The log must come from the first game of its {@link SweepLogic}, which is how
+     * both the client and the server use it.
+     */
+    public static SweepLogic replay(byte[] data) {
+        if (data.length < GameLog.HEADER_SIZE || data[0] < 1 || data[0] > GameLog.VERSION) {
+            throw new IllegalArgumentException("Not a game log (version " + (data.length > 0 ? data[0] : -1) + ")");
+        }
+        long seed = 0L;
+        for (int i = 3; i < GameLog.HEADER_SIZE; i++) {
+            seed = (seed << 8) | (data[i] & 0xFF);
+        }
+        int pos = GameLog.HEADER_SIZE;
+        ScoringRules rules = ScoringRules.SWEEP;
+        if (data[0] >= 2) {
+            WireReader in = new WireReader(data, pos);
+            rules = ScoringRules.read(in);
+            pos = in.position();
+        }
+        SweepLogic logic = new SweepLogic(seed, EngineMode.QUIET, rules, GameFormat.decode(data[1]));
+        logic.startGame(data[2]);
+
+        while (pos < data.length) {
+            int b = data[pos++] & 0xFF;
+            if (b == GameLog.DEAL) {
+                logic.dealNewRound();
+            } else if (b == GameLog.FINISH) {
+                logic.finishGame();
+            } else {
+                int cardId = b & GameLog.CARD_MASK;
+                long captured = 0L;
+                if ((b & GameLog.CAPTURE_FLAG) != 0) {
+                    int id;
+                    do {
+                        if (pos == data.length) {
+                            throw new IllegalArgumentException("Truncated capture at byte " + pos);
+                        }
+                        id = data[pos++] & 0xFF;
+                        captured |= 1L << (id & GameLog.CARD_MASK);
+                    } while ((id & GameLog.LAST_FLAG) == 0);
+                }
+                logic.replayPlay(cardId, captured, pos);
+            }
+        }
+        return logic;
+    }
+
+    // The card itself tells whose play it was, even if it was out of turn
+    private void replayPlay(int cardId, long captured, int pos) {
+        Card card = Card.byId(cardId);
+        for (Player p : seats) {
+            if (p.getHand().contains(card)) {
+                playCardWithSelection(p, card, tableCardsIn(captured));
+                if ((CardMask.of(lastCollected) & ~CardMask.bit(card)) != captured) {
+                    throw new IllegalArgumentException("Log does not match game at byte " + pos + ": " + card);
+                }
+                return;
+            }
+        }
+        throw new IllegalArgumentException("Log does not match game at byte " + pos + ": " + card + " not in any hand");
+    }
 
     public void startGame() {
         startGame(0);
     }
     
     public void startGame(int startingPlayerIndex) {
-        logger.info("Starting game with starting player index: {}", startingPlayerIndex);
+        if (verbose) logger.info("Starting game with starting player index: {}, seed: {}", startingPlayerIndex, seed);
         
-        players.clear();
         tableCards.clear();
-        currentPlayerIndex = startingPlayerIndex % 3;
+        currentPlayerIndex = startingPlayerIndex % seats.length;
+        winningTeam = -1;
 
-        players.add(new Player("Johnny"));
-        players.add(new Player("Joni"));
-        players.add(new Player("Rodrigo"));
-
-        deck.shuffle();
-        logger.debug("Deck shuffled, {} cards total", deck.getCards().size());
-
-        for (Player p : players) {
-            for (int i = 0; i < 3; i++) p.drawCard(deck);
+        EngineMode mode = verbose ? EngineMode.VERBOSE : EngineMode.QUIET;
+        for (int s = 0; s < seats.length; s++) {
+            seats[s] = new Player(s < DEFAULT_NAMES.length ? DEFAULT_NAMES[s] : "Player " + (s + 1), mode, rules);
+            seats[s].setSeat(s);
+        }
+        if (players.isEmpty()) players = Collections.unmodifiableList(Arrays.asList(seats));
+        playCount = 0;
+        captureCount = 0;
+        sweepCount = 0;
+        roundCount = 1;
+
+        deck.shuffle(random);
+        if (verbose) logger.debug("Deck shuffled, {} cards total", deck.size());
+        log.start(seed, format, rules, currentPlayerIndex);
+
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onGameStarted(seats.length, currentPlayerIndex);
         }
-        logger.debug("Dealt 3 cards to each player");
+        for (int s = 0; s < seats.length; s++) {
+            dealHand(s);
+        }
+        if (verbose) logger.debug("Dealt 3 cards to each of {} players ({})", seats.length, format);
         
         for (int i = 0; i < 4; i++) tableCards.add(deck.draw());
-        logger.debug("Dealt 4 cards to table: {}", tableCards);
+        if (verbose) logger.debug("Dealt 4 cards to table: {}", tableCards);
+        long openingTable = CardMask.of(tableCards);
+        int sweepSeat = -1;
              
         if (isFirstRound) {
             int tableSum = 0;
@@ -50,24 +283,32 @@ public class SweepLogic {
             }
             
             if (tableSum == 15) {
-                Player firstPlayer = players.get(startingPlayerIndex);
-                logger.info("Initial table sum is 15! Awarding sweep to {}", firstPlayer.getName());
+                Player firstPlayer = seats[currentPlayerIndex];
+                if (verbose) logger.info("Initial table sum is 15! Awarding sweep to {}", firstPlayer.getName());
                 firstPlayer.collectCards(new ArrayList<>(tableCards));
                 firstPlayer.incrementBrushes();
                 tableCards.clear();
                 isFirstRound = false;
+                sweepSeat = currentPlayerIndex;
+                sweepCount++;
             }
         }
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onTableDealt(openingTable, sweepSeat);
+        }
         
-        logger.info("Game started successfully");
+        publish();
+        if (verbose) logger.info("Game started successfully");
     }
 
     public boolean isGameOver() {
-        for (Player p : players) if (!p.getHand().isEmpty()) return false;
-        return deck.isEmpty();
+        return allHandsEmpty() && deck.isEmpty();
     }
 
+    /** Players in seat order; empty until the first {@link #startGame}. */
     public List<Player> getPlayers() { return players; }
+
+    public Player getPlayer(int seat) { return seats[seat]; }
     public List<Card> getTableCards() { return tableCards; }
 
     public void playCard(Player player, Card card, List<Card> selected) {
@@ -81,30 +322,34 @@ public class SweepLogic {
             return;
         }
 
-        List<Card> collected = checkSum15(card, false);
+        List<Card> collected = checkSum15(card);
         player.getHand().remove(card);
+        boolean isSweep = false;
 
         if (selected.isEmpty()){
+            collected.clear();
             tableCards.add(card);
-            logger.debug("Player {} played {} to table (no capture)", player.getName(), card);
+            if (verbose) logger.debug("Player {} played {} to table (no capture)", player.getName(), card);
         }
         else if (!collected.isEmpty()) {
             player.collectCards(collected);
-            boolean isSweep = collected.size() == tableCards.size() + 1;
+            isSweep = collected.size() == tableCards.size() + 1;
             if (isSweep) {
                 player.incrementBrushes();
-                logger.info("SWEEP! Player {} cleared the table with {}", player.getName(), card);
+                if (verbose) logger.info("SWEEP! Player {} cleared the table with {}", player.getName(), card);
             } else {
-                logger.debug("Player {} played {} and collected {} cards", player.getName(), card, collected.size());
+                if (verbose) logger.debug("Player {} played {} and collected {} cards", player.getName(), card, collected.size());
             }
             tableCards.removeAll(collected);
         } else {
             tableCards.add(card);
-            logger.debug("Player {} played {} to table (no valid capture)", player.getName(), card);
+            if (verbose) logger.debug("Player {} played {} to table (no valid capture)", player.getName(), card);
         }
         
         lastCollected = new ArrayList<>(collected);
+        recordPlay(player, card, lastCollected, isSweep);
         advanceTurn();
+        publish();
     }
 
     public void playCardWithSelection(Player player, Card handCard, List<Card> selected) {
@@ -124,17 +369,22 @@ public class SweepLogic {
         player.getHand().remove(handCard);
 
         List<Card> collected = new ArrayList<>();
+        boolean isSweep = false;
+
+        long selectedMask = CardMask.of(selected);
+        boolean onTable = Long.bitCount(selectedMask) == selected.size()
+                && (selectedMask & ~CardMask.of(tableCards)) == 0L;
 
-        if (sum == 15 && new HashSet<>(tableCards).containsAll(selected)) {
-            logger.debug("Player {} captured: table cards {} + hand card {} = 15", 
+        if (sum == 15 && onTable) {
+            if (verbose) logger.debug("Player {} captured: table cards {} + hand card {} = 15", 
                         player.getName(), selected, handCard);
             player.collectCards(selected);
             player.collectCards(Collections.singletonList(handCard));
             
-            boolean isSweep = selected.size() == tableCards.size();
+            isSweep = selected.size() == tableCards.size();
             if (isSweep) {
                 player.incrementBrushes();
-                logger.info("SWEEP! Player {} cleared the table", player.getName());
+                if (verbose) logger.info("SWEEP! Player {} cleared the table", player.getName());
             }
             tableCards.removeAll(selected);
 
@@ -142,7 +392,7 @@ public class SweepLogic {
             collected.add(handCard);
         } else {
             if (sum != 15) {
-                logger.debug("Player {} played {} to table (sum={}, expected 15)", 
+                if (verbose) logger.debug("Player {} played {} to table (sum={}, expected 15)", 
                             player.getName(), handCard, sum);
             } else {
                 logger.warn("Player {} tried invalid selection: cards not on table", player.getName());
@@ -151,70 +401,101 @@ public class SweepLogic {
         }
 
         lastCollected = collected;
+        recordPlay(player, handCard, collected, isSweep);
 
         advanceTurn();
+        publish();
     }
 
 
     public Player getCurrentPlayer() {
-        return players.get(currentPlayerIndex);
+        return seats[currentPlayerIndex];
     }
 
-    private void advanceTurn() {
-        currentPlayerIndex = (currentPlayerIndex - 1 + players.size()) % players.size();
+    public int getCurrentSeat() {
+        return currentPlayerIndex;
     }
 
-    private List<Card> checkSum15(Card played, boolean isFirstRound) {
-        List<Card> collected = new ArrayList<>();
-        int n = tableCards.size();
-        for (int mask = 0; mask < (1 << n); mask++) {
-            int sum = 0;
-            if (!isFirstRound) {
-                sum = played.getValue();   
-            }
-            List<Card> subset = new ArrayList<>();
-            for (int i = 0; i < n; i++) {
-                if ((mask & (1 << i)) != 0) {
-                    sum += tableCards.get(i).getValue();
-                    subset.add(tableCards.get(i));
-                }
-            }
-            if (sum == 15) {
-                collected.addAll(subset);
-                collected.add(played);
-                return collected;
-            }
+    /**
+     * Fills {@code out} with every legal move of the current player, encoded as
+     * described in {@link Move}, and returns the count.
+     */
+    public int generateMoves(MoveList out) {
+        return moveGenerator.generate(CardMask.of(getCurrentPlayer().getHand()), CardMask.of(tableCards), out);
+    }
+
+    public boolean isLegal(long move) {
+        return MoveGenerator.isLegal(CardMask.of(getCurrentPlayer().getHand()), CardMask.of(tableCards), move);
+    }
+
+    /** Plays an encoded move for the current player; returns false if it is not legal. */
+    public boolean apply(long move) {
+        if (!isLegal(move)) {
+            logger.warn("Rejected illegal move: {}", Move.toString(move));
+            return false;
         }
+        playCardWithSelection(getCurrentPlayer(), Card.byId(Move.card(move)), tableCardsIn(Move.capture(move)));
+        return true;
+    }
 
+    private int dealHand(int seat) {
+        Player p = seats[seat];
+        if (listeners.isEmpty()) {
+            return deck.deal(3, p);
+        }
+        long before = CardMask.of(p.getHand());
+        int dealt = deck.deal(3, p);
+        long cards = CardMask.of(p.getHand()) & ~before;
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onCardsDealt(seat, cards);
+        }
+        return dealt;
+    }
+
+    private void recordPlay(Player player, Card card, List<Card> collected, boolean sweep) {
+        long captured = CardMask.of(collected) & ~CardMask.bit(card);
+        log.played(card.id(), captured);
+        playCount++;
+        if (captured != 0L) captureCount++;
+        if (sweep) sweepCount++;
+        if (listeners.isEmpty()) return;
+        int seat = player.getSeat();
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onCardPlayed(seat, card.id(), captured, sweep);
+        }
+    }
+
+    // Counter-clockwise; seats left without cards by an uneven last deal are skipped
+    private void advanceTurn() {
+        int n = seats.length;
+        int next = currentPlayerIndex == 0 ? n - 1 : currentPlayerIndex - 1;
+        if (!allHandsEmpty()) {
+            while (seats[next].getHand().isEmpty()) next = next == 0 ? n - 1 : next - 1;
+        }
+        currentPlayerIndex = next;
+    }
+
+    private List<Card> checkSum15(Card played) {
+        long capture = captureFinder.first(CardMask.of(tableCards), played.getValue());
+        List<Card> collected = tableCardsIn(capture);
+        if (!collected.isEmpty()) {
+            collected.add(played);
+        }
         return collected;
     }
 
     public List<Card> findRandomValidSum15(Card played) {
-        List<List<Card>> allValidCombinations = new ArrayList<>();
-        int n = tableCards.size();
-        
-        for (int mask = 0; mask < (1 << n); mask++) {
-            int sum = played.getValue();
-            List<Card> subset = new ArrayList<>();
-            
-            for (int i = 0; i < n; i++) {
-                if ((mask & (1 << i)) != 0) {
-                    sum += tableCards.get(i).getValue();
-                    subset.add(tableCards.get(i));
-                }
-            }
-            
-            if (sum == 15 && !subset.isEmpty()) {
-                allValidCombinations.add(new ArrayList<>(subset));
-            }
-        }
-        
-        if (!allValidCombinations.isEmpty()) {
-            int randomIndex = (int) (Math.random() * allValidCombinations.size());
-            return allValidCombinations.get(randomIndex);
+        long capture = captureFinder.random(CardMask.of(tableCards), played.getValue(), botRandom);
+        return tableCardsIn(capture);
+    }
+
+    private List<Card> tableCardsIn(long mask) {
+        List<Card> cards = new ArrayList<>(Long.bitCount(mask));
+        if (mask == 0L) return cards;
+        for (Card c : tableCards) {
+            if ((mask & CardMask.bit(c)) != 0) cards.add(c);
         }
-        
-        return new ArrayList<>();
+        return cards;
     }
 
     public Deck getDeck() {
@@ -222,61 +503,141 @@ public class SweepLogic {
     }
 
     public boolean allHandsEmpty() {
-        for (Player p : players) {
-            if (!p.getHand().isEmpty()) return false;
+        for (Player p : seats) {
+            if (p != null && !p.getHand().isEmpty()) return false;
         }
         return true;
     }
 
     public void dealNewRound() {
-        logger.debug("Dealing new round, {} cards remaining in deck", deck.getCards().size());
-        for (Player p : players) {
-            for (int i = 0; i < 3; i++) {
-                if (!deck.isEmpty()) {
-                    p.drawCard(deck);
-                } else {
-                    logger.warn("Deck empty while dealing to {}", p.getName());
-                }
+        if (verbose) logger.debug("Dealing new round, {} cards remaining in deck", deck.size());
+        for (int s = 0; s < seats.length; s++) {
+            // Expected on the last round when the deck does not split evenly (e.g. 5 seats)
+            if (dealHand(s) < 3 && verbose) {
+                logger.debug("Deck ran out while dealing to {}", seats[s].getName());
             }
         }
-        logger.debug("New round dealt, {} cards remaining", deck.getCards().size());
+        // An uneven last deal (e.g. 5 seats) can leave the seat to move without cards
+        if (seats[currentPlayerIndex].getHand().isEmpty()) advanceTurn();
+        log.dealt();
+        roundCount++;
+        publish();
+        if (verbose) logger.debug("New round dealt, {} cards remaining", deck.size());
+    }
+
+    /**
+     * Fills one {@link PlayerScore} per seat (missing entries are created) with card
+     * points and sweeps. Outside team games the {@link ScoringRules} aggregate bonus
+     * is added too; in team games it goes to {@link #fillTeamScores}.
+     */
+    public PlayerScore[] fillScores(PlayerScore[] scores) {
+        int n = players.size();
+        if (scores.length < n) scores = Arrays.copyOf(scores, n);
+        for (int s = 0; s < n; s++) {
+            if (scores[s] == null) scores[s] = new PlayerScore();
+            seats[s].fillScore(scores[s]);
+        }
+        if (rules.hasAggregates() && !format.isTeamGame()) {
+            for (int s = 0; s < n; s++) scoreStacks[s] = seats[s].getStackMask();
+            rules.aggregatePoints(scoreStacks, n, scoreBonus);
+            for (int s = 0; s < n; s++) scores[s].addBonus(scoreBonus[s]);
+        }
+        return scores;
+    }
+
+    public PlayerScore[] getScores() {
+        return fillScores(new PlayerScore[players.size()]);
+    }
+
+    /**
+     * Fills one {@link PlayerScore} per team of the {@link GameFormat}: the sum of its
+     * seats plus the aggregate bonus won by the team's combined stack. Without teams
+     * this is {@link #fillScores}.
+     */
+    public PlayerScore[] fillTeamScores(PlayerScore[] scores) {
+        if (!format.isTeamGame()) return fillScores(scores);
+        int teams = format.getTeams();
+        if (scores.length < teams) scores = Arrays.copyOf(scores, teams);
+        for (int t = 0; t < teams; t++) {
+            if (scores[t] == null) scores[t] = new PlayerScore();
+            scores[t].clear();
+            scoreStacks[t] = 0L;
+        }
+        PlayerScore seatScore = new PlayerScore();
+        for (int s = 0; s < players.size(); s++) {
+            int t = format.teamOf(s);
+            scores[t].add(seats[s].fillScore(seatScore));
+            scoreStacks[t] |= seats[s].getStackMask();
+        }
+        if (rules.hasAggregates()) {
+            rules.aggregatePoints(scoreStacks, teams, scoreBonus);
+            for (int t = 0; t < teams; t++) scores[t].addBonus(scoreBonus[t]);
+        }
+        return scores;
+    }
+
+    public PlayerScore[] getTeamScores() {
+        return fillTeamScores(new PlayerScore[format.getTeams()]);
     }
 
+    /**
+     * The winning player, or in team games the first seat of the winning team (see
+     * {@link #getWinningTeam()}). Null while the game is running.
+     */
     public Player getWinner() {
-        if (!isGameOver()) return null;
+        int team = getWinningTeam();
+        return team < 0 ? null : seats[team];
+    }
 
-        Player winner = null;
+    /**
+     * Team with the best total (the seat itself outside team games); ties go to the
+     * most collected cards, then at random. -1 while the game is running.
+     */
+    public int getWinningTeam() {
+        if (!isGameOver()) return -1;
+        if (winningTeam < 0) winningTeam = decideWinner();
+        return winningTeam;
+    }
+
+    private int decideWinner() {
+
+        int winner = -1;
         int bestScore = Integer.MIN_VALUE;
 
-        for (Player p : players) {
-            int score = p.calculatePoints() + p.getBrushes();
-            logger.debug("Player {} final score: {} points + {} sweeps = {}", 
-                        p.getName(), p.calculatePoints(), p.getBrushes(), score);
+        PlayerScore[] scores = getTeamScores();
+        for (int t = 0; t < scores.length; t++) {
+            PlayerScore teamScore = scores[t];
+            int score = teamScore.getTotal();
+            if (verbose) logger.debug("{} final score: {} points + {} sweeps + {} bonus = {}",
+                        sideName(t), teamScore.getPoints(), teamScore.getBrushes(), teamScore.getBonus(), score);
             
-            if (winner == null || score > bestScore) {
+            if (winner < 0 || score > bestScore) {
                 bestScore = score;
-                winner = p;
+                winner = t;
             } else if (score == bestScore) {
-                logger.debug("Tie between {} and {}, using tiebreak", winner.getName(), p.getName());
-                winner = tiebreak(winner, p);
+                if (verbose) logger.debug("Tie between {} and {}, using tiebreak", sideName(winner), sideName(t));
+                winner = tiebreak(winner, scores[winner], t, scores[t]);
             }
         }
         
-        if (winner != null) {
-            logger.info("Game winner: {} with {} points", winner.getName(), bestScore);
+        if (winner >= 0) {
+            if (verbose) logger.info("Game winner: {} with {} points", sideName(winner), bestScore);
         }
         return winner;
     }
 
-    
-    private Player tiebreak(Player a, Player b) {
-        int aCards = a.getPointsStack().size();
-        int bCards = b.getPointsStack().size();
+    private String sideName(int team) {
+        return format.isTeamGame() ? "Team " + (team + 1) : "Player " + seats[team].getName();
+    }
+
+    private int tiebreak(int a, PlayerScore aScore, int b, PlayerScore bScore) {
+        int aCards = aScore.getCards();
+        int bCards = bScore.getCards();
 
         if (aCards > bCards) return a;
         if (bCards > aCards) return b;
 
-        return Math.random() < 0.5 ? a : b;
+        return random.nextBoolean() ? a : b;
     }
 
     public List<Card> getLastCollectedCards() {
@@ -284,14 +645,23 @@ public class SweepLogic {
     }
 
     public void finishGame() {
+        int lastSeat = (currentPlayerIndex - 1 + seats.length) % seats.length;
+        long leftover = CardMask.of(tableCards);
         if (!tableCards.isEmpty()) {
-            Player lastPlayer = players.get((currentPlayerIndex - 1 + players.size()) % players.size());
-            logger.debug("Game finished, {} remaining table cards awarded to {}", 
+            Player lastPlayer = seats[lastSeat];
+            if (verbose) logger.debug("Game finished, {} remaining table cards awarded to {}", 
                         tableCards.size(), lastPlayer.getName());
             lastPlayer.collectCards(new ArrayList<>(tableCards));
             tableCards.clear();
+            // A winner read before the leftovers were counted may no longer hold
+            winningTeam = -1;
+        }
+        log.finished();
+        publish();
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onGameFinished(lastSeat, leftover);
         }
-        logger.info("Game finished");
+        if (verbose) logger.info("Game finished");
     }
 
 }
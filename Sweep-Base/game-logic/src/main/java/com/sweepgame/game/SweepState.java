@@ -0,0 +1,451 @@
+package com.sweepgame.game;
+
+import java.util.Random;
+
+/**
+ * Compact game state for simulations and bots. Hands, table, collected stacks and
+ * the remaining deck are card masks (see {@link CardMask}) and every counter is a
+ * primitive, so applying a move or checking a capture never allocates.
+ * {@link #getHash()} is a {@link Zobrist} hash updated along with every card move.
+ * Rules follow {@link SweepLogic}.
+ */
+public final class SweepState {
+    public static final int MIN_SEATS = 2;
+    public static final int MAX_SEATS = 6;
+    public static final int HAND_SIZE = 3;
+    public static final int TABLE_DEAL = 4;
+    public static final int TARGET_SUM = 15;
+
+    private final GameFormat format;
+    private final int seats;
+    private final long[] hands;
+    private final long[] stacks;
+    private final int[] brushes;
+    private long table;
+    private long deck;
+
+    // Draw order of the deck, deckPos is the next card to be dealt
+    private final byte[] deckOrder = new byte[CardMask.DECK_SIZE];
+    private int deckPos;
+    private final byte[] hiddenBuffer = new byte[CardMask.DECK_SIZE];
+
+    private int currentSeat;
+    private int turn;
+
+    // Zobrist hash of the position, kept equal to Zobrist.hash(this)
+    private long hash;
+
+    // Scoring rule set, plus scratch arrays for team stacks and rules that compare stacks
+    private ScoringRules rules = ScoringRules.SWEEP;
+    private final long[] scoreStacks;
+    private final int[] scoreBrushes;
+    private final int[] scores;
+
+    // Undo stack for makeMove/unmakeMove: the applied move plus packed
+    // previous seat, sweep flag, deal flag and previous deck position
+    private static final int MAX_PLIES = CardMask.DECK_SIZE + 8;
+    private static final int UNDO_SWEEP = 1 << 3;
+    private static final int UNDO_DEALT = 1 << 4;
+    private static final int UNDO_DECK_SHIFT = 5;
+    private final long[] undoMoves = new long[MAX_PLIES];
+    private final int[] undoInfo = new int[MAX_PLIES];
+    private int undoTop;
+
+    public SweepState() {
+        this(3);
+    }
+
+    public SweepState(int seats) {
+        this(GameFormat.of(seats));
+    }
+
+    public SweepState(GameFormat format) {
+        this.format = format;
+        this.seats = format.getSeats();
+        this.hands = new long[seats];
+        this.stacks = new long[seats];
+        this.brushes = new int[seats];
+        this.scoreStacks = new long[seats];
+        this.scoreBrushes = new int[seats];
+        this.scores = new int[seats];
+    }
+
+    /**
+     * Starts a game dealing from the given card id order, the same way
+     * {@link SweepLogic#startGame(int)} deals from its shuffled deck.
+     */
+    public void reset(byte[] order, int startingSeat) {
+        System.arraycopy(order, 0, deckOrder, 0, CardMask.DECK_SIZE);
+        deckPos = 0;
+        deck = CardMask.ALL;
+        table = 0L;
+        for (int s = 0; s < seats; s++) {
+            hands[s] = 0L;
+            stacks[s] = 0L;
+            brushes[s] = 0;
+        }
+        currentSeat = startingSeat % seats;
+        turn = 0;
+        undoTop = 0;
+
+        dealRound();
+        for (int i = 0; i < TABLE_DEAL; i++) table |= drawBit();
+
+        // A first table worth 15 is a sweep for the starting player
+        if (CardMask.sum(table) == TARGET_SUM) {
+            stacks[currentSeat] |= table;
+            brushes[currentSeat]++;
+            table = 0L;
+        }
+        hash = Zobrist.hash(this);
+    }
+
+    public void copyFrom(SweepState other) {
+        if (other.format != format) {
+            throw new IllegalArgumentException("Format mismatch: " + other.format + " vs " + format);
+        }
+        System.arraycopy(other.hands, 0, hands, 0, seats);
+        System.arraycopy(other.stacks, 0, stacks, 0, seats);
+        System.arraycopy(other.brushes, 0, brushes, 0, seats);
+        System.arraycopy(other.deckOrder, 0, deckOrder, 0, CardMask.DECK_SIZE);
+        deckPos = other.deckPos;
+        table = other.table;
+        deck = other.deck;
+        currentSeat = other.currentSeat;
+        turn = other.turn;
+        hash = other.hash;
+        rules = other.rules;
+        undoTop = 0;
+    }
+
+    /**
+     * Loads the position of a running {@link SweepLogic}; seat indices follow
+     * {@link SweepLogic#getPlayers()}.
+     */
+    public void load(SweepLogic logic) {
+        if (logic.getFormat() != format) {
+            throw new IllegalArgumentException("Format mismatch: " + logic.getFormat() + " vs " + format);
+        }
+        for (int s = 0; s < seats; s++) {
+            Player p = logic.getPlayer(s);
+            hands[s] = CardMask.of(p.getHand());
+            stacks[s] = CardMask.of(p.getPointsStack());
+            brushes[s] = p.getBrushes();
+        }
+        table = CardMask.of(logic.getTableCards());
+        rules = logic.getRules();
+
+        Deck source = logic.getDeck();
+        int remaining = source.size();
+        deckPos = CardMask.DECK_SIZE - remaining;
+        deck = 0L;
+        for (int i = 0; i < remaining; i++) {
+            int id = source.peekId(i);
+            deckOrder[deckPos + i] = (byte) id;
+            deck |= 1L << id;
+        }
+        currentSeat = logic.getCurrentSeat();
+        turn = 0;
+        undoTop = 0;
+        hash = Zobrist.hash(this);
+    }
+
+    /**
+     * Replaces everything {@code observer} cannot see with a random consistent deal:
+     * opponents keep their hand sizes and the deck keeps its size, but the hidden
+     * cards are shuffled among them. Used by bots to determinise the unknown cards.
+     */
+    public void redeal(int observer, Random random) {
+        long hidden = deck;
+        for (int s = 0; s < seats; s++) {
+            if (s != observer) hidden |= hands[s];
+        }
+        int n = 0;
+        while (hidden != 0) {
+            hiddenBuffer[n++] = (byte) Long.numberOfTrailingZeros(hidden);
+            hidden &= hidden - 1;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            byte tmp = hiddenBuffer[i];
+            hiddenBuffer[i] = hiddenBuffer[j];
+            hiddenBuffer[j] = tmp;
+        }
+
+        int k = 0;
+        for (int s = 0; s < seats; s++) {
+            if (s == observer) continue;
+            int size = Long.bitCount(hands[s]);
+            hands[s] = 0L;
+            for (int i = 0; i < size; i++) hands[s] |= 1L << hiddenBuffer[k++];
+        }
+        deck = 0L;
+        for (int i = deckPos; i < CardMask.DECK_SIZE; i++) {
+            deckOrder[i] = hiddenBuffer[k++];
+            deck |= 1L << deckOrder[i];
+        }
+        hash = Zobrist.hash(this);
+    }
+
+    private long drawBit() {
+        long bit = 1L << deckOrder[deckPos++];
+        deck &= ~bit;
+        return bit;
+    }
+
+    public void dealRound() {
+        for (int s = 0; s < seats; s++) {
+            for (int i = 0; i < HAND_SIZE && deckPos < CardMask.DECK_SIZE; i++) {
+                int id = deckOrder[deckPos];
+                hands[s] |= drawBit();
+                hash ^= Zobrist.card(Zobrist.DECK, id) ^ Zobrist.card(Zobrist.hand(s), id);
+            }
+        }
+        // An uneven last deal (e.g. 5 seats) can leave the seat to move without cards
+        if (hands[currentSeat] == 0L && !allHandsEmpty()) {
+            int next = nextSeat(currentSeat);
+            hash ^= Zobrist.toMove(currentSeat) ^ Zobrist.toMove(next);
+            currentSeat = next;
+        }
+    }
+
+    /**
+     * True if {@code capture} is a non-empty set of table cards that sums to 15
+     * together with the played card.
+     */
+    public boolean canCapture(int cardId, long capture) {
+        return capture != 0L
+                && (capture & ~table) == 0L
+                && CardMask.value(cardId) + CardMask.sum(capture) == TARGET_SUM;
+    }
+
+    /**
+     * Plays {@code cardId} from the current seat's hand, capturing {@code capture}
+     * when legal and otherwise leaving the card on the table, like
+     * {@link SweepLogic#playCardWithSelection}. Returns the collected mask (0 if nothing
+     * was collected) or -1 if the card is not in the current hand.
+     */
+    public long play(int cardId, long capture) {
+        long bit = 1L << cardId;
+        int seat = currentSeat;
+        if ((hands[seat] & bit) == 0L) {
+            return -1L;
+        }
+        hands[seat] &= ~bit;
+        long h = hash ^ Zobrist.card(Zobrist.hand(seat), cardId);
+
+        long collected = 0L;
+        if (canCapture(cardId, capture)) {
+            if (capture == table) {
+                h ^= Zobrist.brushes(seat, brushes[seat]) ^ Zobrist.brushes(seat, brushes[seat] + 1);
+                brushes[seat]++;
+            }
+            table &= ~capture;
+            collected = capture | bit;
+            stacks[seat] |= collected;
+            h ^= Zobrist.cards(Zobrist.TABLE, capture) ^ Zobrist.cards(Zobrist.stack(seat), collected);
+        } else {
+            table |= bit;
+            h ^= Zobrist.card(Zobrist.TABLE, cardId);
+        }
+
+        currentSeat = nextSeat(seat);
+        hash = h ^ Zobrist.toMove(seat) ^ Zobrist.toMove(currentSeat);
+        turn++;
+        return collected;
+    }
+
+    // Counter-clockwise like SweepLogic, skipping seats an uneven last deal left without cards
+    private int nextSeat(int seat) {
+        int next = seat == 0 ? seats - 1 : seat - 1;
+        if (allHandsEmpty()) return next;
+        while (hands[next] == 0L) next = next == 0 ? seats - 1 : next - 1;
+        return next;
+    }
+
+    /** Plays an encoded move (see {@link Move}) for the current seat. */
+    public long apply(long move) {
+        return play(Move.card(move), Move.capture(move));
+    }
+
+    /**
+     * Reversible version of {@link #apply(long)} for tree search: plays the move,
+     * deals the next round if every hand is now empty, and pushes a small undo
+     * record so {@link #unmakeMove()} can restore the exact previous state.
+     * Nothing is allocated.
+     */
+    public void makeMove(long move) {
+        if (undoTop == MAX_PLIES) {
+            throw new IllegalStateException("Undo stack full");
+        }
+        int card = Move.card(move);
+        int prevSeat = currentSeat;
+        int prevDeckPos = deckPos;
+        long collected = play(card, Move.capture(move));
+        if (collected < 0) {
+            throw new IllegalArgumentException("Card not in hand: " + Move.toString(move));
+        }
+
+        int info = prevSeat | (prevDeckPos << UNDO_DECK_SHIFT);
+        if (collected != 0L && table == 0L) info |= UNDO_SWEEP;
+        if (deckPos < CardMask.DECK_SIZE && allHandsEmpty()) {
+            dealRound();
+            info |= UNDO_DEALT;
+        }
+        // Record what actually happened: an illegal capture was laid on the table
+        undoMoves[undoTop] = Move.of(card, collected & ~(1L << card));
+        undoInfo[undoTop] = info;
+        undoTop++;
+    }
+
+    public void unmakeMove() {
+        if (undoTop == 0) {
+            throw new IllegalStateException("No move to undo");
+        }
+        undoTop--;
+        long move = undoMoves[undoTop];
+        int info = undoInfo[undoTop];
+
+        if ((info & UNDO_DEALT) != 0) {
+            // Hands were all empty before the deal, so everything in them goes back
+            for (int s = 0; s < seats; s++) {
+                hash ^= Zobrist.cards(Zobrist.hand(s), hands[s]) ^ Zobrist.cards(Zobrist.DECK, hands[s]);
+                deck |= hands[s];
+                hands[s] = 0L;
+            }
+        }
+        deckPos = info >>> UNDO_DECK_SHIFT;
+
+        int seat = info & 0x7;
+        int card = Move.card(move);
+        long bit = 1L << card;
+        long capture = Move.capture(move);
+        long h = hash ^ Zobrist.card(Zobrist.hand(seat), card);
+        if (capture != 0L) {
+            stacks[seat] &= ~(capture | bit);
+            table |= capture;
+            h ^= Zobrist.cards(Zobrist.TABLE, capture) ^ Zobrist.cards(Zobrist.stack(seat), capture | bit);
+            if ((info & UNDO_SWEEP) != 0) {
+                h ^= Zobrist.brushes(seat, brushes[seat]) ^ Zobrist.brushes(seat, brushes[seat] - 1);
+                brushes[seat]--;
+            }
+        } else {
+            table &= ~bit;
+            h ^= Zobrist.card(Zobrist.TABLE, card);
+        }
+        hands[seat] |= bit;
+        hash = h ^ Zobrist.toMove(currentSeat) ^ Zobrist.toMove(seat);
+        currentSeat = seat;
+        turn--;
+    }
+
+    public int getUndoDepth() {
+        return undoTop;
+    }
+
+    /**
+     * Awards the cards left on the table at the end of the game, like
+     * {@link SweepLogic#finishGame()}.
+     */
+    public void finish() {
+        if (table != 0L) {
+            int last = currentSeat == 0 ? seats - 1 : currentSeat - 1;
+            hash ^= Zobrist.cards(Zobrist.TABLE, table) ^ Zobrist.cards(Zobrist.stack(last), table);
+            stacks[last] |= table;
+            table = 0L;
+        }
+    }
+
+    public boolean allHandsEmpty() {
+        for (int s = 0; s < seats; s++) {
+            if (hands[s] != 0L) return false;
+        }
+        return true;
+    }
+
+    public boolean isGameOver() {
+        return deck == 0L && allHandsEmpty();
+    }
+
+    public int points(int seat) {
+        return rules.cardPoints(stacks[seat]);
+    }
+
+    /** Score of the seat's side: its own, or its team's in a team {@link GameFormat}. */
+    public int score(int seat) {
+        if (rules.hasAggregates() || format.isTeamGame()) {
+            scoreSides(0L, 0);
+            return scores[format.teamOf(seat)];
+        }
+        return points(seat) + rules.brushPoints(brushes[seat]);
+    }
+
+    /** Score the seat's side will have after {@link #finish()}, without changing the state. */
+    public int finalScore(int seat) {
+        int last = currentSeat == 0 ? seats - 1 : currentSeat - 1;
+        if (rules.hasAggregates() || format.isTeamGame()) {
+            scoreSides(table, last);
+            return scores[format.teamOf(seat)];
+        }
+        return seat == last ? rules.cardPoints(stacks[seat] | table) + rules.brushPoints(brushes[seat]) : score(seat);
+    }
+
+    // Totals per team (per seat without teams) into scores, with extra cards added to one seat
+    private void scoreSides(long extra, int extraSeat) {
+        int teams = format.getTeams();
+        for (int t = 0; t < teams; t++) {
+            scoreStacks[t] = 0L;
+            scoreBrushes[t] = 0;
+        }
+        for (int s = 0; s < seats; s++) {
+            int t = format.teamOf(s);
+            scoreStacks[t] |= stacks[s];
+            scoreBrushes[t] += brushes[s];
+        }
+        scoreStacks[format.teamOf(extraSeat)] |= extra;
+        rules.score(scoreStacks, scoreBrushes, teams, scores);
+    }
+
+    /**
+     * Seats with the best final score as a bitmask of seat indices (every seat of the
+     * best team in team games). Equal scores are split by collected card count like
+     * {@link SweepLogic#getWinningTeam()}; if that is also tied several sides stay set
+     * (SweepLogic then picks one at random).
+     */
+    public int leaders() {
+        scoreSides(0L, 0);
+        int best = Integer.MIN_VALUE;
+        int bestCards = Integer.MIN_VALUE;
+        int mask = 0;
+        for (int t = 0; t < format.getTeams(); t++) {
+            int score = scores[t];
+            int cards = Long.bitCount(scoreStacks[t]);
+            if (score > best || (score == best && cards > bestCards)) {
+                best = score;
+                bestCards = cards;
+                mask = format.teamSeats(t);
+            } else if (score == best && cards == bestCards) {
+                mask |= format.teamSeats(t);
+            }
+        }
+        return mask;
+    }
+
+    /** Rules used by the scoring methods; {@link #load} takes them from the game. */
+    public void setRules(ScoringRules rules) {
+        this.rules = rules;
+    }
+
+    public ScoringRules getRules() { return rules; }
+    public int getSeats() { return seats; }
+    public GameFormat getFormat() { return format; }
+    public long getHand(int seat) { return hands[seat]; }
+    public long getStack(int seat) { return stacks[seat]; }
+    public int getBrushes(int seat) { return brushes[seat]; }
+    public long getTable() { return table; }
+    public long getDeck() { return deck; }
+    public int getDeckSize() { return CardMask.DECK_SIZE - deckPos; }
+    public int getCurrentSeat() { return currentSeat; }
+    public int getTurn() { return turn; }
+    public long getHash() { return hash; }
+}
@@ -0,0 +1,87 @@
+package com.sweepgame.game;
+
+/**
+ * Fixed random keys for hashing a {@link SweepState}. The hash is the XOR of one key
+ * per (zone, card) for every card, one key per seat brush count and one key for the
+ * seat to move, so moving a card between zones is two XORs.
+ * <p>
+ * The deck is hashed as a set: two states that differ only in the draw order of the
+ * remaining deck hash the same.
+ */
+public final class Zobrist {
+    public static final int DECK = 0;
+    public static final int TABLE = 1;
+    private static final int HANDS = 2;
+    private static final int STACKS = HANDS + SweepState.MAX_SEATS;
+    private static final int ZONES = STACKS + SweepState.MAX_SEATS;
+
+    private static final long[][] CARDS = new long[ZONES][CardMask.DECK_SIZE];
+    private static final long[][] BRUSHES = new long[SweepState.MAX_SEATS][CardMask.DECK_SIZE + 1];
+    private static final long[] TO_MOVE = new long[SweepState.MAX_SEATS];
+
+    static {
+        // Fixed seed so hashes are stable between runs
+        long seed = 0x5EED5EED5EEDL;
+        for (long[] zone : CARDS) {
+            for (int id = 0; id < zone.length; id++) zone[id] = seed = next(seed);
+        }
+        for (long[] seat : BRUSHES) {
+            for (int n = 0; n < seat.length; n++) seat[n] = seed = next(seed);
+        }
+        for (int s = 0; s < TO_MOVE.length; s++) TO_MOVE[s] = seed = next(seed);
+    }
+
+    private Zobrist() {
+    }
+
+    // SplitMix64 step: returns the mixed output, which also serves as the next state
+    private static long next(long state) {
+        long z = state + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    public static int hand(int seat) {
+        return HANDS + seat;
+    }
+
+    public static int stack(int seat) {
+        return STACKS + seat;
+    }
+
+    public static long card(int zone, int id) {
+        return CARDS[zone][id];
+    }
+
+    /** XOR of the keys of every card in {@code mask} for the given zone. */
+    public static long cards(int zone, long mask) {
+        long[] keys = CARDS[zone];
+        long h = 0L;
+        while (mask != 0) {
+            h ^= keys[Long.numberOfTrailingZeros(mask)];
+            mask &= mask - 1;
+        }
+        return h;
+    }
+
+    public static long brushes(int seat, int count) {
+        return BRUSHES[seat][count];
+    }
+
+    public static long toMove(int seat) {
+        return TO_MOVE[seat];
+    }
+
+    /** Full recomputation; {@link SweepState#getHash()} is kept equal to this incrementally. */
+    public static long hash(SweepState state) {
+        long h = cards(DECK, state.getDeck()) ^ cards(TABLE, state.getTable())
+                ^ toMove(state.getCurrentSeat());
+        for (int s = 0; s < state.getSeats(); s++) {
+            h ^= cards(hand(s), state.getHand(s))
+                    ^ cards(stack(s), state.getStack(s))
+                    ^ brushes(s, state.getBrushes(s));
+        }
+        return h;
+    }
+}
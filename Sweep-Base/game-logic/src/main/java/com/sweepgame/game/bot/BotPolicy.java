@@ -0,0 +1,14 @@
+package com.sweepgame.game.bot;
+
+import com.sweepgame.game.SweepState;
+
+/**
+ * Chooses a move for the seat to play. Implementations may only rely on what that
+ * seat can see (its own hand, the table, collected stacks, hand and deck sizes);
+ * the rest of the state is treated as unknown.
+ */
+public interface BotPolicy {
+
+    /** Returns an encoded {@link com.sweepgame.game.Move} for {@code state.getCurrentSeat()}. */
+    long chooseMove(SweepState state);
+}
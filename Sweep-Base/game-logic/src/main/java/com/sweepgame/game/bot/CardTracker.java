@@ -0,0 +1,159 @@
+package com.sweepgame.game.bot;
+
+import com.sweepgame.game.CardMask;
+import com.sweepgame.game.GameEventListener;
+import com.sweepgame.game.SweepState;
+
+/**
+ * What one seat knows about the cards, kept up to date from {@link GameEventListener}
+ * events instead of rescanning hands and stacks. Unseen cards are those not in the
+ * seat's own hand, on the table or in any collected stack, i.e. the deck plus the
+ * opponents' hands. Register with {@link com.sweepgame.game.SweepLogic#addListener}.
+ */
+public final class CardTracker implements GameEventListener {
+    private final int seat;
+
+    private long unseen;
+    private long ownHand;
+    private long table;
+    private long collected;
+    private final int[] handSizes = new int[SweepState.MAX_SEATS];
+    private int seats;
+
+    public CardTracker(int seat) {
+        this.seat = seat;
+        reset(SweepState.MAX_SEATS);
+    }
+
+    private void reset(int seats) {
+        this.seats = seats;
+        unseen = CardMask.ALL;
+        ownHand = 0L;
+        table = 0L;
+        collected = 0L;
+        for (int s = 0; s < handSizes.length; s++) handSizes[s] = 0;
+    }
+
+    /** Rebuilds the knowledge from a position, e.g. when joining a game already in progress. */
+    public void load(SweepState state) {
+        reset(state.getSeats());
+        ownHand = state.getHand(seat);
+        table = state.getTable();
+        for (int s = 0; s < seats; s++) {
+            collected |= state.getStack(s);
+            handSizes[s] = CardMask.count(state.getHand(s));
+        }
+        unseen = CardMask.ALL & ~(ownHand | table | collected);
+    }
+
+    @Override
+    public void onGameStarted(int seats, int startingSeat) {
+        reset(seats);
+    }
+
+    @Override
+    public void onCardsDealt(int seat, long cards) {
+        handSizes[seat] += CardMask.count(cards);
+        if (seat == this.seat) {
+            ownHand |= cards;
+            unseen &= ~cards;
+        }
+    }
+
+    @Override
+    public void onTableDealt(long cards, int sweepSeat) {
+        unseen &= ~cards;
+        if (sweepSeat < 0) {
+            table |= cards;
+        } else {
+            collected |= cards;
+        }
+    }
+
+    @Override
+    public void onCardPlayed(int seat, int cardId, long captured, boolean sweep) {
+        long bit = 1L << cardId;
+        if (seat >= 0) handSizes[seat]--;
+        ownHand &= ~bit;
+        unseen &= ~bit;
+        if (captured != 0L) {
+            table &= ~captured;
+            collected |= captured | bit;
+        } else {
+            table |= bit;
+        }
+    }
+
+    @Override
+    public void onGameFinished(int lastSeat, long leftover) {
+        collected |= leftover;
+        table = 0L;
+    }
+
+    /** Deck plus opponents' hands, as far as this seat can tell. */
+    public long getUnseen() {
+        return unseen;
+    }
+
+    /** Cards nobody has collected yet (unseen, own hand and table). */
+    public long getLive() {
+        return CardMask.ALL & ~collected;
+    }
+
+    public long getOwnHand() {
+        return ownHand;
+    }
+
+    public long getTable() {
+        return table;
+    }
+
+    public long getCollected() {
+        return collected;
+    }
+
+    public int getHandSize(int seat) {
+        return handSizes[seat];
+    }
+
+    public int liveDiamonds() {
+        return CardMask.count(getLive() & CardMask.DIAMONDS);
+    }
+
+    public int liveSevens() {
+        return CardMask.count(getLive() & CardMask.SEVENS);
+    }
+
+    public int unseenOfValue(int value) {
+        return CardMask.count(unseen & CardMask.ofValue(value));
+    }
+
+    /**
+     * Exact chance that {@code opponent} holds at least one card of {@code value},
+     * assuming every unseen card is equally likely to be anywhere unseen.
+     */
+    public double probabilityHolds(int opponent, int value) {
+        return probabilityAny(unseenOfValue(value), handSizes[opponent]);
+    }
+
+    /** Same as {@link #probabilityHolds} for any of the opponents together. */
+    public double probabilityOpponentsHold(int value) {
+        int cards = 0;
+        for (int s = 0; s < seats; s++) {
+            if (s != seat) cards += handSizes[s];
+        }
+        return probabilityAny(unseenOfValue(value), cards);
+    }
+
+    // Hypergeometric: 1 - C(U - k, h) / C(U, h) for k matching cards among U unseen
+    private double probabilityAny(int matching, int handSize) {
+        int total = CardMask.count(unseen);
+        if (matching == 0 || handSize == 0) return 0.0;
+        if (handSize > total - matching) return 1.0;
+        double none = 1.0;
+        for (int i = 0; i < handSize; i++) {
+            none *= (double) (total - matching - i) / (total - i);
+        }
+        return 1.0 - none;
+    }
+}
@@ -0,0 +1,267 @@
+package com.sweepgame.game.bot;
+
+import com.sweepgame.game.CardMask;
+import com.sweepgame.game.GameFormat;
+import com.sweepgame.game.Move;
+import com.sweepgame.game.MoveGenerator;
+import com.sweepgame.game.MoveList;
+import com.sweepgame.game.ScoringRules;
+import com.sweepgame.game.SweepState;
+
+import java.util.Random;
+
+/**
+ * Exact solver for the last hands, once the deck is empty and every remaining card
+ * is in a hand or on the table. Runs a paranoid alpha-beta search: the seat to move
+ * (and its partners in a team game) maximises its final score minus the best
+ * opponent's, every other seat minimises it. Leftover table cards go to the last player as in {@link SweepState#finish()}.
+ * <p>
+ * Cards of the same value and diamond-ness play and score identically, so the
+ * search works up to swapping them: sibling moves that only differ that way are
+ * searched once, and the {@link TranspositionTable} key hashes each hand and the
+ * table as a multiset of such classes plus every seat's score so far, instead of
+ * the exact {@link SweepState#getHash()}. Positions reached through different
+ * captures with the same scores then share one entry.
+ * Hands are taken as given; bots without perfect information solve sampled deals.
+ */
+public final class EndgameSolver implements BotPolicy {
+    /**
+     * Most cards left in hands for which {@link #canSolve} promises a fast answer:
+     * a whole last round for two or three seats, a partly played one for more.
+     */
+    public static final int MAX_CARDS = 9;
+
+    private static final int INF = 1 << 20;
+    private static final int MAX_PLIES = SweepState.MAX_SEATS * SweepState.HAND_SIZE + 1;
+    private static final int CLASSES = 20;
+    private static final int RANKS = CardMask.DECK_SIZE / 4;
+    private static final int MAX_SCORE = 2 * CardMask.DECK_SIZE;
+
+    // Keys for the class-based position key: zone 0 is the table, zone 1 + s is seat s's hand.
+    // Values are margins for one root seat, so the root seat has a key too.
+    private static final long[][] CLASS_KEYS = new long[1 + SweepState.MAX_SEATS][CLASSES];
+    private static final long[][] SCORE_KEYS = new long[SweepState.MAX_SEATS][MAX_SCORE];
+    private static final long[] TO_MOVE_KEYS = new long[SweepState.MAX_SEATS];
+    private static final long[] ROOT_KEYS = new long[SweepState.MAX_SEATS];
+
+    static {
+        Random keys = new Random(0x50171E5L);
+        for (long[] zone : CLASS_KEYS) {
+            for (int c = 0; c < CLASSES; c++) zone[c] = keys.nextLong();
+        }
+        for (long[] seat : SCORE_KEYS) {
+            for (int n = 0; n < MAX_SCORE; n++) seat[n] = keys.nextLong();
+        }
+        for (int s = 0; s < SweepState.MAX_SEATS; s++) {
+            TO_MOVE_KEYS[s] = keys.nextLong();
+            ROOT_KEYS[s] = keys.nextLong();
+        }
+    }
+
+    private final TranspositionTable table;
+    private final MoveGenerator generator = new MoveGenerator();
+    private final MoveList[] moves = new MoveList[MAX_PLIES];
+    private final MoveList[] searched = new MoveList[MAX_PLIES];
+    private SweepState work;
+
+    private int root;
+    private long bestMove;
+    private long nodes;
+
+    public EndgameSolver() {
+        this(1 << 16);
+    }
+
+    public EndgameSolver(int tableEntries) {
+        this.table = new TranspositionTable(tableEntries);
+        for (int i = 0; i < MAX_PLIES; i++) {
+            moves[i] = new MoveList();
+            searched[i] = new MoveList();
+        }
+    }
+
+    /** True once the deck is empty and few enough cards are left to solve in a few milliseconds. */
+    public static boolean canSolve(SweepState state) {
+        return state.getDeckSize() == 0 && cardsInHands(state) <= MAX_CARDS && supports(state.getRules());
+    }
+
+    /**
+     * True if the rules score every card by its value and diamond flag alone, with no
+     * aggregate rules, which the class-based key and move dedupe rely on.
+     */
+    public static boolean supports(ScoringRules rules) {
+        if (rules.hasAggregates()) return false;
+        for (int id = 0; id < CardMask.DECK_SIZE; id++) {
+            int twin = (id + RANKS) % CardMask.DECK_SIZE;
+            if (CardMask.contains(CardMask.DIAMONDS, id) == CardMask.contains(CardMask.DIAMONDS, twin)
+                    && rules.cardWeight(id) != rules.cardWeight(twin)) {
+                return false;
+            }
+        }
+        return rules.cardPoints(CardMask.ALL) + rules.brushPoints(CardMask.DECK_SIZE) < MAX_SCORE;
+    }
+
+    /**
+     * Solves the position for the seat to move and returns its final score margin
+     * under best play; {@link #getBestMove()} is the move that achieves it. The
+     * given state is not modified. Any position with an empty deck is solved
+     * exactly, but beyond {@link #MAX_CARDS} it can take much longer.
+     */
+    public int solve(SweepState state) {
+        if (state.getDeckSize() != 0) {
+            throw new IllegalStateException("Deck not empty: " + state.getDeckSize() + " cards left");
+        }
+        if (!supports(state.getRules())) {
+            throw new IllegalStateException("Unsupported scoring rules: " + state.getRules());
+        }
+        if (work == null || work.getFormat() != state.getFormat()) {
+            work = new SweepState(state.getFormat());
+        }
+        work.copyFrom(state);
+        root = state.getCurrentSeat();
+        bestMove = 0L;
+        nodes = 0;
+        return search(0, -INF, INF);
+    }
+
+    @Override
+    public long chooseMove(SweepState state) {
+        solve(state);
+        return bestMove;
+    }
+
+    public long getBestMove() {
+        return bestMove;
+    }
+
+    /** Positions visited by the last {@link #solve}. */
+    public long getNodes() {
+        return nodes;
+    }
+
+    private int search(int ply, int alpha, int beta) {
+        nodes++;
+        SweepState s = work;
+        MoveList list = moves[ply];
+        int seat = s.getCurrentSeat();
+        int count = s.isGameOver() ? 0 : generator.generate(s.getHand(seat), s.getTable(), list);
+        if (count == 0) {
+            return margin();
+        }
+
+        long key = positionKey();
+        int depth = cardsInHands(s);
+        if (ply > 0) {
+            long entry = table.probe(key);
+            if (entry != TranspositionTable.MISS && TranspositionTable.depth(entry) >= depth) {
+                int value = TranspositionTable.value(entry);
+                int bound = TranspositionTable.bound(entry);
+                if (bound == TranspositionTable.EXACT) return value;
+                if (bound == TranspositionTable.LOWER) alpha = Math.max(alpha, value);
+                else beta = Math.min(beta, value);
+                if (alpha >= beta) return value;
+            }
+        }
+
+        int alphaIn = alpha;
+        int betaIn = beta;
+        GameFormat format = s.getFormat();
+        boolean maximising = format.teamOf(seat) == format.teamOf(root);
+        int best = maximising ? -INF : INF;
+
+        // Captures first, they are the moves most likely to cut
+        MoveList seen = searched[ply];
+        seen.clear();
+        search:
+        for (int pass = 0; pass < 2; pass++) {
+            for (int i = 0; i < count; i++) {
+                long move = list.get(i);
+                if (Move.isCapture(move) != (pass == 0)) continue;
+                long signature = signature(move);
+                if (seen.contains(signature)) continue;
+                seen.add(signature);
+
+                s.makeMove(move);
+                int value = search(ply + 1, alpha, beta);
+                s.unmakeMove();
+
+                if (maximising) {
+                    if (value > best) {
+                        best = value;
+                        if (ply == 0) bestMove = move;
+                    }
+                    alpha = Math.max(alpha, best);
+                } else {
+                    best = Math.min(best, value);
+                    beta = Math.min(beta, best);
+                }
+                if (alpha >= beta) break search;
+            }
+        }
+
+        int bound = best <= alphaIn ? TranspositionTable.UPPER
+                : best >= betaIn ? TranspositionTable.LOWER
+                : TranspositionTable.EXACT;
+        table.store(key, best, depth, bound);
+        return best;
+    }
+
+    // Value 1-10 and diamond flag, 0-19
+    private static int cardClass(int id) {
+        return (CardMask.value(id) - 1) << 1 | (CardMask.contains(CardMask.DIAMONDS, id) ? 1 : 0);
+    }
+
+    // Classes are summed rather than XORed so two cards of one class do not cancel out
+    private static long classKey(int zone, long cards) {
+        long[] keys = CLASS_KEYS[zone];
+        long key = 0L;
+        while (cards != 0) {
+            key += keys[cardClass(Long.numberOfTrailingZeros(cards))];
+            cards &= cards - 1;
+        }
+        return key;
+    }
+
+    private long positionKey() {
+        SweepState s = work;
+        long key = classKey(0, s.getTable()) ^ TO_MOVE_KEYS[s.getCurrentSeat()] ^ ROOT_KEYS[root];
+        for (int seat = 0; seat < s.getSeats(); seat++) {
+            key ^= classKey(1 + seat, s.getHand(seat)) ^ SCORE_KEYS[seat][s.score(seat)];
+        }
+        return key;
+    }
+
+    /**
+     * Same value for moves that are equivalent up to swapping same-class cards: the
+     * played card's value and diamond flag, then per value the number of plain and
+     * diamond cards captured (3 bits each).
+     */
+    private static long signature(long move) {
+        int card = Move.card(move);
+        long signature = cardClass(card);
+        long capture = Move.capture(move);
+        while (capture != 0) {
+            int id = Long.numberOfTrailingZeros(capture);
+            int shift = 5 + (CardMask.value(id) - 1) * 3;
+            signature += (CardMask.contains(CardMask.DIAMONDS, id) ? 4L : 1L) << shift;
+            capture &= capture - 1;
+        }
+        return signature;
+    }
+
+    private int margin() {
+        GameFormat format = work.getFormat();
+        int own = work.finalScore(root);
+        int opponent = -INF;
+        for (int s = 0; s < work.getSeats(); s++) {
+            if (format.teamOf(s) != format.teamOf(root)) opponent = Math.max(opponent, work.finalScore(s));
+        }
+        return own - opponent;
+    }
+
+    private static int cardsInHands(SweepState state) {
+        int n = 0;
+        for (int s = 0; s < state.getSeats(); s++) n += CardMask.count(state.getHand(s));
+        return n;
+    }
+}
@@ -0,0 +1,56 @@
+package com.sweepgame.game.bot;
+
+import com.sweepgame.game.CardMask;
+import com.sweepgame.game.Move;
+import com.sweepgame.game.MoveGenerator;
+import com.sweepgame.game.MoveList;
+import com.sweepgame.game.SweepState;
+
+import java.util.Random;
+
+/**
+ * One-ply greedy player: takes the capture worth the most (sweeps first, then
+ * points, then cards) and otherwise lays its lowest-value card. Ties are broken
+ * at random.
+ */
+public class GreedyBot implements BotPolicy {
+    private final Random random;
+    private final MoveGenerator generator = new MoveGenerator();
+    private final MoveList moves = new MoveList();
+
+    public GreedyBot(Random random) {
+        this.random = random;
+    }
+
+    @Override
+    public long chooseMove(SweepState state) {
+        long table = state.getTable();
+        int n = generator.generate(state.getHand(state.getCurrentSeat()), table, moves);
+        long best = moves.get(0);
+        int bestScore = Integer.MIN_VALUE;
+        int ties = 0;
+        for (int i = 0; i < n; i++) {
+            long move = moves.get(i);
+            int score = evaluate(move, table);
+            if (score > bestScore) {
+                bestScore = score;
+                best = move;
+                ties = 1;
+            } else if (score == bestScore && random.nextInt(++ties) == 0) {
+                best = move;
+            }
+        }
+        return best;
+    }
+
+    private static int evaluate(long move, long table) {
+        int card = Move.card(move);
+        long capture = Move.capture(move);
+        if (capture == 0L) {
+            return -CardMask.value(card);
+        }
+        long taken = capture | (1L << card);
+        int sweep = capture == table ? 1 : 0;
+        return 1000 + sweep * 100 + CardMask.points(taken) * 10 + Long.bitCount(taken);
+    }
+}
@@ -0,0 +1,229 @@
+package com.sweepgame.game.bot;
+
+import com.sweepgame.game.MoveGenerator;
+import com.sweepgame.game.MoveList;
+import com.sweepgame.game.SweepState;
+
+import java.util.Random;
+
+/**
+ * Information-set Monte-Carlo tree search. Each iteration determinises the cards
+ * the bot cannot see ({@link SweepState#redeal}), walks the shared tree using only
+ * moves legal in that deal, expands one node and finishes the game with random
+ * moves. The tree lives in a node arena allocated once and reused every turn.
+ * With an {@link EndgameSolver} set, the last hands are played by solving sampled
+ * deals of the hidden cards exactly and voting on the best move instead.
+ */
+public class IsmctsBot implements BotPolicy {
+    private static final double EXPLORATION = 0.7;
+    private static final int NONE = -1;
+    private static final int ENDGAME_SAMPLES = 24;
+
+    private final Random random;
+    private final int maxIterations;
+    private final long timeBudgetNanos;
+
+    // Node arena, parallel arrays indexed by node id; node 0 is the root
+    private final int capacity;
+    private final long[] nodeMove;
+    private final int[] parent;
+    private final int[] firstChild;
+    private final int[] nextSibling;
+    private final byte[] mover;
+    private final int[] visits;
+    private final int[] available;
+    private final double[] reward;
+    private int nodeCount;
+
+    private SweepState det;
+    private final MoveGenerator generator = new MoveGenerator();
+    private final MoveList moves = new MoveList();
+    private final double[] results = new double[SweepState.MAX_SEATS];
+
+    private EndgameSolver endgame;
+    private int[] votes = new int[32];
+
+    public IsmctsBot(Random random, int maxIterations, long timeBudgetMillis) {
+        this(random, maxIterations, timeBudgetMillis, 1 << 16, 3);
+    }
+
+    public IsmctsBot(Random random, int maxIterations, long timeBudgetMillis, int capacity, int seats) {
+        this.random = random;
+        this.maxIterations = maxIterations;
+        this.timeBudgetNanos = timeBudgetMillis * 1_000_000L;
+        this.capacity = capacity;
+        this.nodeMove = new long[capacity];
+        this.parent = new int[capacity];
+        this.firstChild = new int[capacity];
+        this.nextSibling = new int[capacity];
+        this.mover = new byte[capacity];
+        this.visits = new int[capacity];
+        this.available = new int[capacity];
+        this.reward = new double[capacity];
+        this.det = new SweepState(seats);
+    }
+
+    public void setEndgameSolver(EndgameSolver endgame) {
+        this.endgame = endgame;
+    }
+
+    @Override
+    public long chooseMove(SweepState state) {
+        int me = state.getCurrentSeat();
+        generator.generate(state.getHand(me), state.getTable(), moves);
+        if (moves.size() == 1) {
+            return moves.get(0);
+        }
+        if (det.getFormat() != state.getFormat()) {
+            det = new SweepState(state.getFormat());
+        }
+        if (endgame != null && EndgameSolver.canSolve(state)) {
+            return chooseEndgameMove(state, me);
+        }
+
+        nodeCount = 0;
+        int root = newNode(NONE, 0L, me);
+        long deadline = System.nanoTime() + timeBudgetNanos;
+
+        for (int i = 0; i < maxIterations; i++) {
+            if ((i & 63) == 0 && timeBudgetNanos > 0 && System.nanoTime() > deadline) break;
+            det.copyFrom(state);
+            det.redeal(me, random);
+            iterate(root);
+        }
+
+        int best = NONE;
+        for (int c = firstChild[root]; c != NONE; c = nextSibling[c]) {
+            if (best == NONE || visits[c] > visits[best]) best = c;
+        }
+        if (best == NONE) {
+            generator.generate(state.getHand(me), state.getTable(), moves);
+            return moves.get(random.nextInt(moves.size()));
+        }
+        return nodeMove[best];
+    }
+
+    // Only the opponents' hands are hidden now: solve each sampled deal and vote
+    private long chooseEndgameMove(SweepState state, int me) {
+        int count = moves.size();
+        if (votes.length < count) votes = new int[count];
+        for (int i = 0; i < count; i++) votes[i] = 0;
+
+        long deadline = System.nanoTime() + timeBudgetNanos;
+        for (int i = 0; i < ENDGAME_SAMPLES; i++) {
+            if (i > 0 && timeBudgetNanos > 0 && System.nanoTime() > deadline) break;
+            det.copyFrom(state);
+            det.redeal(me, random);
+            endgame.solve(det);
+            votes[moves.indexOf(endgame.getBestMove())]++;
+        }
+
+        int best = 0;
+        for (int i = 1; i < count; i++) {
+            if (votes[i] > votes[best]) best = i;
+        }
+        return moves.get(best);
+    }
+
+    private void iterate(int root) {
+        int node = root;
+
+        // Selection and expansion, restricted to moves legal in this determinisation
+        while (!det.isGameOver()) {
+            generator.generate(det.getHand(det.getCurrentSeat()), det.getTable(), moves);
+            int untried = countUntried(node);
+            if (untried > 0) {
+                if (nodeCount < capacity) {
+                    long move = pickUntried(node, untried);
+                    int seat = det.getCurrentSeat();
+                    det.makeMove(move);
+                    node = newNode(node, move, seat);
+                }
+                break;
+            }
+            node = selectChild(node);
+            det.makeMove(nodeMove[node]);
+        }
+
+        // Random playout to the end of the game
+        while (!det.isGameOver()) {
+            generator.generate(det.getHand(det.getCurrentSeat()), det.getTable(), moves);
+            det.apply(moves.get(random.nextInt(moves.size())));
+            if (det.allHandsEmpty()) det.dealRound();
+        }
+        det.finish();
+        score();
+
+        for (int n = node; n != NONE; n = parent[n]) {
+            visits[n]++;
+            reward[n] += results[mover[n]];
+        }
+    }
+
+    // Win = 1 for every seat of the winning side, shared between tied sides
+    private void score() {
+        int leaders = det.leaders();
+        double share = (double) det.getFormat().getTeamSize() / Integer.bitCount(leaders);
+        for (int s = 0; s < det.getSeats(); s++) {
+            results[s] = (leaders & (1 << s)) != 0 ? share : 0.0;
+        }
+    }
+
+    // Legal moves without a child yet; children for the legal ones become available
+    private int countUntried(int node) {
+        int tried = 0;
+        for (int c = firstChild[node]; c != NONE; c = nextSibling[c]) {
+            if (moves.contains(nodeMove[c])) tried++;
+        }
+        return moves.size() - tried;
+    }
+
+    private long pickUntried(int node, int untried) {
+        int pick = random.nextInt(untried);
+        for (int i = 0; i < moves.size(); i++) {
+            long move = moves.get(i);
+            if (hasChild(node, move)) continue;
+            if (pick-- == 0) return move;
+        }
+        throw new IllegalStateException("No untried move");
+    }
+
+    private boolean hasChild(int node, long move) {
+        for (int c = firstChild[node]; c != NONE; c = nextSibling[c]) {
+            if (nodeMove[c] == move) return true;
+        }
+        return false;
+    }
+
+    private int selectChild(int node) {
+        int best = NONE;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        for (int c = firstChild[node]; c != NONE; c = nextSibling[c]) {
+            if (!moves.contains(nodeMove[c])) continue;
+            available[c]++;
+            double score = reward[c] / visits[c] + EXPLORATION * Math.sqrt(Math.log(available[c]) / visits[c]);
+            if (score > bestScore) {
+                bestScore = score;
+                best = c;
+            }
+        }
+        return best;
+    }
+
+    private int newNode(int parentNode, long move, int seat) {
+        int n = nodeCount++;
+        nodeMove[n] = move;
+        parent[n] = parentNode;
+        firstChild[n] = NONE;
+        nextSibling[n] = NONE;
+        mover[n] = (byte) seat;
+        visits[n] = 0;
+        available[n] = 1;
+        reward[n] = 0.0;
+        if (parentNode != NONE) {
+            nextSibling[n] = firstChild[parentNode];
+            firstChild[parentNode] = n;
+        }
+        return n;
+    }
+}
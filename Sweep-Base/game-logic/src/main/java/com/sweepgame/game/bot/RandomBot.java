@@ -0,0 +1,26 @@
+package com.sweepgame.game.bot;
+
+import com.sweepgame.game.MoveGenerator;
+import com.sweepgame.game.MoveList;
+import com.sweepgame.game.SweepState;
+
+import java.util.Random;
+
+/**
+ * Plays a uniformly random legal move. Baseline opponent for simulations.
+ */
+public class RandomBot implements BotPolicy {
+    private final Random random;
+    private final MoveGenerator generator = new MoveGenerator();
+    private final MoveList moves = new MoveList();
+
+    public RandomBot(Random random) {
+        this.random = random;
+    }
+
+    @Override
+    public long chooseMove(SweepState state) {
+        int n = generator.generate(state.getHand(state.getCurrentSeat()), state.getTable(), moves);
+        return moves.get(random.nextInt(n));
+    }
+}
@@ -0,0 +1,95 @@
+package com.sweepgame.game.bot;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size hash table of search results keyed by {@link com.sweepgame.game.SweepState#getHash()}.
+ * Each slot is two longs, the packed entry and {@code hash ^ entry}; a reader only
+ * accepts a slot when the two agree, so concurrent writers need no lock and a torn
+ * slot reads as a miss. Entries are packed into a long like moves are (see
+ * {@link #value}, {@link #depth}, {@link #bound}).
+ */
+public final class TranspositionTable {
+    /** The stored value is exact, a lower bound (fail high) or an upper bound (fail low). */
+    public static final int EXACT = 0;
+    public static final int LOWER = 1;
+    public static final int UPPER = 2;
+
+    /** Returned by {@link #probe} when the position is not stored. */
+    public static final long MISS = -1L;
+
+    private static final int DEPTH_SHIFT = 32;
+    private static final int BOUND_SHIFT = 40;
+    // Set on every stored entry so an empty slot (all zero) never matches
+    private static final long USED = 1L << 42;
+
+    private final int mask;
+    private final AtomicLongArray slots;
+
+    /** Creates a table with {@code entries} rounded up to a power of two. */
+    public TranspositionTable(int entries) {
+        if (entries <= 0 || entries > (1 << 29)) {
+            throw new IllegalArgumentException("Unsupported table size: " + entries);
+        }
+        int size = Integer.highestOneBit(entries);
+        if (size < entries) size <<= 1;
+        this.mask = size - 1;
+        this.slots = new AtomicLongArray(size * 2);
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Returns the entry stored for {@code hash}, or {@link #MISS}. Decode it with
+     * {@link #value}, {@link #depth} and {@link #bound}.
+     */
+    public long probe(long hash) {
+        int i = index(hash);
+        long check = slots.get(i);
+        long entry = slots.get(i + 1);
+        return (check ^ entry) == hash && (entry & USED) != 0 ? entry : MISS;
+    }
+
+    /**
+     * Stores a result, replacing the slot unless it holds the same position
+     * searched to a greater depth.
+     */
+    public void store(long hash, int value, int depth, int bound) {
+        int i = index(hash);
+        long oldEntry = slots.get(i + 1);
+        if ((slots.get(i) ^ oldEntry) == hash && (oldEntry & USED) != 0 && depth(oldEntry) > depth) {
+            return;
+        }
+        long entry = (value & 0xFFFFFFFFL)
+                | ((long) (depth & 0xFF) << DEPTH_SHIFT)
+                | ((long) bound << BOUND_SHIFT)
+                | USED;
+        slots.lazySet(i, hash ^ entry);
+        slots.lazySet(i + 1, entry);
+    }
+
+    public void clear() {
+        for (int i = 0; i < slots.length(); i++) {
+            slots.lazySet(i, 0L);
+        }
+    }
+
+    public static int value(long entry) {
+        return (int) entry;
+    }
+
+    public static int depth(long entry) {
+        return (int) (entry >>> DEPTH_SHIFT) & 0xFF;
+    }
+
+    public static int bound(long entry) {
+        return (int) (entry >>> BOUND_SHIFT) & 0x3;
+    }
+
+    // Low bits pick the slot; the full hash is still checked on probe
+    private int index(long hash) {
+        return ((int) (hash ^ (hash >>> 32)) & mask) << 1;
+    }
+}
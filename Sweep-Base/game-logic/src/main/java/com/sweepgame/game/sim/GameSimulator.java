@@ -0,0 +1,166 @@
+package com.sweepgame.game.sim;
+
+import com.sweepgame.game.CardMask;
+import com.sweepgame.game.SweepState;
+import com.sweepgame.game.bot.BotPolicy;
+import com.sweepgame.game.bot.EndgameSolver;
+import com.sweepgame.game.bot.GreedyBot;
+import com.sweepgame.game.bot.IsmctsBot;
+import com.sweepgame.game.bot.RandomBot;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Headless batch runner: plays complete games between bot policies on every core.
+ * Games run on {@link SweepState}, so there is no logging, locking or shared
+ * mutable state. Each fork/join leaf owns its engine, bots and random source,
+ * and fills its own {@link SimulationStats}; leaves are merged on the way back up.
+ * Game {@code i} is dealt from {@code seed} and {@code i} alone, so a run is
+ * reproducible whatever the thread count.
+ */
+public class GameSimulator {
+
+    /** Creates one bot instance per worker; bots are not shared between threads. */
+    public interface PolicyFactory {
+        BotPolicy create(Random random);
+    }
+
+    private static final int LEAF_GAMES = 256;
+
+    private final int seats;
+    private final PolicyFactory[] policies;
+
+    public GameSimulator(PolicyFactory... policies) {
+        if (policies.length < SweepState.MIN_SEATS || policies.length > SweepState.MAX_SEATS) {
+            throw new IllegalArgumentException("Unsupported seat count: " + policies.length);
+        }
+        this.seats = policies.length;
+        this.policies = policies.clone();
+    }
+
+    public SimulationStats run(long games, long seed) {
+        return run(ForkJoinPool.commonPool(), games, seed);
+    }
+
+    public SimulationStats run(ForkJoinPool pool, long games, long seed) {
+        return pool.invoke(new Batch(seed, 0, games));
+    }
+
+    private final class Batch extends RecursiveTask<SimulationStats> {
+        private static final long serialVersionUID = 1L;
+
+        private final long seed;
+        private final long from;
+        private final long to;
+
+        Batch(long seed, long from, long to) {
+            this.seed = seed;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected SimulationStats compute() {
+            if (to - from <= LEAF_GAMES) {
+                return playRange();
+            }
+            long mid = (from + to) >>> 1;
+            Batch left = new Batch(seed, from, mid);
+            left.fork();
+            SimulationStats right = new Batch(seed, mid, to).compute();
+            return left.join().merge(right);
+        }
+
+        private SimulationStats playRange() {
+            SimulationStats stats = new SimulationStats(seats);
+            Random random = new Random(mix(seed ^ mix(from)));
+            BotPolicy[] bots = new BotPolicy[seats];
+            for (int s = 0; s < seats; s++) {
+                bots[s] = policies[s].create(new Random(random.nextLong()));
+            }
+
+            SweepState state = new SweepState(seats);
+            Random dealer = new Random();
+            byte[] order = new byte[CardMask.DECK_SIZE];
+            for (long game = from; game < to; game++) {
+                dealer.setSeed(mix(seed + game));
+                for (int i = 0; i < order.length; i++) order[i] = (byte) i;
+                for (int i = order.length - 1; i > 0; i--) {
+                    int j = dealer.nextInt(i + 1);
+                    byte tmp = order[i];
+                    order[i] = order[j];
+                    order[j] = tmp;
+                }
+
+                int startingSeat = (int) (game % seats);
+                state.reset(order, startingSeat);
+                while (!state.isGameOver()) {
+                    state.apply(bots[state.getCurrentSeat()].chooseMove(state));
+                    if (state.allHandsEmpty()) state.dealRound();
+                }
+                state.finish();
+
+                int leaders = state.leaders();
+                int winner = pickLeader(leaders, dealer);
+                stats.record(state, startingSeat, winner, Integer.bitCount(leaders) > 1);
+            }
+            return stats;
+        }
+    }
+
+    // Random tie-break between leaders, as SweepLogic.getWinner does
+    private static int pickLeader(int leaders, Random random) {
+        int pick = random.nextInt(Integer.bitCount(leaders));
+        while (pick-- > 0) leaders &= leaders - 1;
+        return Integer.numberOfTrailingZeros(leaders);
+    }
+
+    // SplitMix64 finaliser, spreads consecutive seeds over the whole range
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    public static PolicyFactory policy(String name) {
+        switch (name.toLowerCase()) {
+            case "random":
+                return RandomBot::new;
+            case "greedy":
+                return GreedyBot::new;
+            case "ismcts":
+                return random -> new IsmctsBot(random, 1000, 0);
+            case "endgame":
+                return random -> {
+                    IsmctsBot bot = new IsmctsBot(random, 1000, 0);
+                    bot.setEndgameSolver(new EndgameSolver());
+                    return bot;
+                };
+            default:
+                throw new IllegalArgumentException("Unknown policy: " + name + " (random, greedy, ismcts, endgame)");
+        }
+    }
+
+    /**
+     * Usage: GameSimulator [games] [seed] [policy per seat...]
+     * e.g. {@code GameSimulator 1000000 42 greedy random random}
+     */
+    public static void main(String[] args) {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 100_000L;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : System.nanoTime();
+        int seats = Math.max(args.length - 2, 3);
+        PolicyFactory[] policies = new PolicyFactory[seats];
+        for (int s = 0; s < seats; s++) {
+            policies[s] = policy(args.length > s + 2 ? args[s + 2] : "random");
+        }
+
+        long start = System.nanoTime();
+        SimulationStats stats = new GameSimulator(policies).run(games, seed);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.println("seed " + seed);
+        System.out.println(stats);
+        System.out.printf("%.2f s, %.0f games/s%n", seconds, stats.getGames() / seconds);
+    }
+}
@@ -0,0 +1,102 @@
+package com.sweepgame.game.sim;
+
+import com.sweepgame.game.SweepState;
+
+/**
+ * Per-worker result accumulator for {@link GameSimulator}. Each worker fills its
+ * own instance without synchronisation and the results are combined with
+ * {@link #merge(SimulationStats)}.
+ */
+public final class SimulationStats {
+    // Diamonds plus sevens, with the seven of diamonds counted twice
+    public static final int MAX_POINTS = 14;
+
+    private final int seats;
+    private long games;
+    private long plies;
+    private long ties;
+    private long startingSeatWins;
+    private final long[] wins;
+    private final long[] sweeps;
+    private final long[] points;
+    private final long[][] pointHistogram;
+
+    public SimulationStats(int seats) {
+        this.seats = seats;
+        this.wins = new long[seats];
+        this.sweeps = new long[seats];
+        this.points = new long[seats];
+        this.pointHistogram = new long[seats][MAX_POINTS + 1];
+    }
+
+    /**
+     * Records a finished game. {@code winner} is the seat credited with the win
+     * after tie-breaks, {@code tied} whether the tie-break had to be random.
+     */
+    void record(SweepState state, int startingSeat, int winner, boolean tied) {
+        games++;
+        plies += state.getTurn();
+        if (tied) ties++;
+        if (winner == startingSeat) startingSeatWins++;
+        wins[winner]++;
+        for (int s = 0; s < seats; s++) {
+            int p = state.points(s);
+            points[s] += p;
+            pointHistogram[s][Math.min(p, MAX_POINTS)]++;
+            sweeps[s] += state.getBrushes(s);
+        }
+    }
+
+    public SimulationStats merge(SimulationStats other) {
+        if (other.seats != seats) {
+            throw new IllegalArgumentException("Seat count mismatch: " + other.seats + " vs " + seats);
+        }
+        games += other.games;
+        plies += other.plies;
+        ties += other.ties;
+        startingSeatWins += other.startingSeatWins;
+        for (int s = 0; s < seats; s++) {
+            wins[s] += other.wins[s];
+            sweeps[s] += other.sweeps[s];
+            points[s] += other.points[s];
+            for (int p = 0; p <= MAX_POINTS; p++) {
+                pointHistogram[s][p] += other.pointHistogram[s][p];
+            }
+        }
+        return this;
+    }
+
+    public int getSeats() { return seats; }
+    public long getGames() { return games; }
+    public long getPlies() { return plies; }
+    public long getTies() { return ties; }
+    public long getStartingSeatWins() { return startingSeatWins; }
+    public long getWins(int seat) { return wins[seat]; }
+    public long getSweeps(int seat) { return sweeps[seat]; }
+    public long getPoints(int seat) { return points[seat]; }
+    public long getPointCount(int seat, int points) { return pointHistogram[seat][points]; }
+
+    public double getWinRate(int seat) {
+        return games == 0 ? 0.0 : (double) wins[seat] / games;
+    }
+
+    /** Share of games won by whoever played first; 1 / seats means no advantage. */
+    public double getStartingSeatWinRate() {
+        return games == 0 ? 0.0 : (double) startingSeatWins / games;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(games).append(" games, ").append(plies).append(" plies, ")
+                .append(ties).append(" random tie-breaks\n");
+        for (int s = 0; s < seats; s++) {
+            sb.append(String.format("seat %d: win %.4f, avg points %.3f, avg sweeps %.3f%n", s,
+                    getWinRate(s),
+                    games == 0 ? 0.0 : (double) points[s] / games,
+                    games == 0 ? 0.0 : (double) sweeps[s] / games));
+        }
+        sb.append(String.format("first player win rate %.4f (fair: %.4f)", getStartingSeatWinRate(), 1.0 / seats));
+        return sb.toString();
+    }
+}
@@ -0,0 +1,55 @@
+package com.sweepgame.game.wire;
+
+/**
+ * Compact binary form of the multiplayer protocol, an alternative to JSON that a
+ * client asks for by sending {@link #CODEC_HEADER} with the {@link #VERSION} it
+ * speaks when it connects. Every frame starts with the version and a message tag:
+ * <pre>
+ * header       version, tag
+ * GAME_STATE   session id, state version, game state, format, current seat,
+ *              table cards, player count, then per player: username, hand size,
+ *              captured count, points, sweeps, team; message
+ * GAME_DELTA   state version, field flags (DELTA_*), then the flagged fields in
+ *              flag order; players as a count, then per player: seat, field flags
+ *              (PLAYER_*) and the flagged values
+ * QUEUE_STATUS status, queue size, format, seats
+ * MOVE         session id, hand card index, table card indices
+ * </pre>
+ * Numbers are unsigned varints, cards one byte holding their id, card lists a
+ * varint count followed by the ids, and strings a varint of the UTF-8 length plus
+ * one (0 for null) followed by the bytes. See {@link WireWriter} and {@link WireReader}.
+ */
+public final class WireFormat {
+    public static final int VERSION = 1;
+
+    /** STOMP content type of binary frames. */
+    public static final String CONTENT_TYPE = "application/x-sweep";
+    /** CONNECT header naming the binary version a client accepts. */
+    public static final String CODEC_HEADER = "sweep-codec";
+
+    public static final int GAME_STATE = 1;
+    public static final int GAME_DELTA = 2;
+    public static final int QUEUE_STATUS = 3;
+    public static final int MOVE = 4;
+
+    public static final int DELTA_GAME_STATE = 1;
+    public static final int DELTA_CURRENT_PLAYER = 1 << 1;
+    public static final int DELTA_TABLE_REMOVED = 1 << 2;
+    public static final int DELTA_TABLE_ADDED = 1 << 3;
+    public static final int DELTA_TABLE = 1 << 4;
+    public static final int DELTA_PLAYERS = 1 << 5;
+    public static final int DELTA_MESSAGE = 1 << 6;
+
+    public static final int PLAYER_HAND_SIZE = 1;
+    public static final int PLAYER_COLLECTED_SIZE = 1 << 1;
+    public static final int PLAYER_POINTS = 1 << 2;
+    public static final int PLAYER_SWEEPS = 1 << 3;
+
+    private WireFormat() {
+    }
+
+    /** Whether a {@link #CODEC_HEADER} value names a version this side can speak. */
+    public static boolean accepts(String codecHeader) {
+        return codecHeader != null && codecHeader.trim().equals(Integer.toString(VERSION));
+    }
+}
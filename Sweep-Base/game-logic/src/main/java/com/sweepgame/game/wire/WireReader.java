@@ -0,0 +1,101 @@
+package com.sweepgame.game.wire;
+
+import com.sweepgame.game.Card;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads one {@link WireFormat} frame. Malformed or truncated input throws
+ * {@link IllegalArgumentException}.
+ */
+public final class WireReader {
+    private final byte[] bytes;
+    private int pos;
+
+    public WireReader(byte[] bytes) {
+        this(bytes, 0);
+    }
+
+    /** Reads {@code bytes} from {@code offset}, e.g. a section inside a larger record. */
+    public WireReader(byte[] bytes, int offset) {
+        this.bytes = bytes;
+        this.pos = offset;
+    }
+
+    /** Checks the format version and returns the message tag. */
+    public int readHeader() {
+        int version = readByte();
+        if (version != WireFormat.VERSION) {
+            throw new IllegalArgumentException("Unsupported wire format version: " + version);
+        }
+        return readByte();
+    }
+
+    public int readByte() {
+        if (pos >= bytes.length) {
+            throw new IllegalArgumentException("Truncated frame at byte " + pos);
+        }
+        return bytes[pos++] & 0xFF;
+    }
+
+    public int readVarint() {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = readByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IllegalArgumentException("Varint longer than 5 bytes at byte " + pos);
+    }
+
+    public Card readCard() {
+        return Card.byId(readByte());
+    }
+
+    public List<Card> readCards() {
+        int count = readCount();
+        List<Card> cards = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            cards.add(readCard());
+        }
+        return cards;
+    }
+
+    public int[] readCardIds() {
+        int[] ids = new int[readCount()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = readByte();
+        }
+        return ids;
+    }
+
+    public String readString() {
+        int length = readVarint() - 1;
+        if (length < 0) return null;
+        if (length > bytes.length - pos) {
+            throw new IllegalArgumentException("Truncated string at byte " + pos);
+        }
+        String s = new String(bytes, pos, length, StandardCharsets.UTF_8);
+        pos += length;
+        return s;
+    }
+
+    /** A varint count of following items, checked against the bytes left so a bad frame cannot allocate much. */
+    public int readCount() {
+        int count = readVarint();
+        if (count < 0 || count > bytes.length - pos) {
+            throw new IllegalArgumentException("Bad count " + count + " at byte " + pos);
+        }
+        return count;
+    }
+
+    public int position() {
+        return pos;
+    }
+
+    public boolean hasRemaining() {
+        return pos < bytes.length;
+    }
+}
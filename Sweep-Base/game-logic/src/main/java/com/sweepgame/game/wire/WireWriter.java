@@ -0,0 +1,82 @@
+package com.sweepgame.game.wire;
+
+import com.sweepgame.game.Card;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/** Writes one {@link WireFormat} frame into a growing byte array. */
+public final class WireWriter {
+    private byte[] bytes;
+    private int size;
+
+    public WireWriter() {
+        this(64);
+    }
+
+    public WireWriter(int capacity) {
+        bytes = new byte[Math.max(capacity, 2)];
+    }
+
+    /** Starts the frame with the format version and {@code tag}. */
+    public WireWriter header(int tag) {
+        writeByte(WireFormat.VERSION);
+        writeByte(tag);
+        return this;
+    }
+
+    public void writeByte(int b) {
+        if (size == bytes.length) {
+            bytes = Arrays.copyOf(bytes, size * 2);
+        }
+        bytes[size++] = (byte) b;
+    }
+
+    /** Seven bits per byte, low bits first, the high bit set on all but the last byte. */
+    public void writeVarint(int value) {
+        while ((value & ~0x7F) != 0) {
+            writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        writeByte(value);
+    }
+
+    public void writeCard(Card card) {
+        writeByte(card.id());
+    }
+
+    public void writeCards(List<Card> cards) {
+        writeVarint(cards.size());
+        for (int i = 0; i < cards.size(); i++) {
+            writeByte(cards.get(i).id());
+        }
+    }
+
+    public void writeCardIds(int[] ids) {
+        writeVarint(ids.length);
+        for (int id : ids) {
+            writeByte(id);
+        }
+    }
+
+    public void writeString(String s) {
+        if (s == null) {
+            writeVarint(0);
+            return;
+        }
+        byte[] utf8 = s.getBytes(StandardCharsets.UTF_8);
+        writeVarint(utf8.length + 1);
+        for (byte b : utf8) {
+            writeByte(b);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(bytes, size);
+    }
+}
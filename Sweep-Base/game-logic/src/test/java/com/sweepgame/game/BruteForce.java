@@ -0,0 +1,61 @@
+package com.sweepgame.game;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+/** Reference results by plain subset enumeration, for checking the optimised move code. */
+final class BruteForce {
+
+    private BruteForce() {
+    }
+
+    /** Every non-empty subset of {@code table} that makes 15 with a card of {@code playedValue}. */
+    static Set<Long> captures(long table, int playedValue) {
+        int[] ids = new int[Long.bitCount(table)];
+        int n = 0;
+        for (long rest = table; rest != 0; rest &= rest - 1) {
+            ids[n++] = Long.numberOfTrailingZeros(rest);
+        }
+        Set<Long> captures = new HashSet<>();
+        for (int subset = 1; subset < 1 << n; subset++) {
+            long capture = 0L;
+            int sum = playedValue;
+            for (int i = 0; i < n; i++) {
+                if ((subset & 1 << i) != 0) {
+                    capture |= 1L << ids[i];
+                    sum += CardMask.value(ids[i]);
+                }
+            }
+            if (sum == SweepState.TARGET_SUM) {
+                captures.add(capture);
+            }
+        }
+        return captures;
+    }
+
+    /** Laying each hand card, plus each of its captures. */
+    static Set<Long> moves(long hand, long table) {
+        Set<Long> moves = new HashSet<>();
+        for (long rest = hand; rest != 0; rest &= rest - 1) {
+            int card = Long.numberOfTrailingZeros(rest);
+            moves.add(Move.of(card, 0L));
+            for (long capture : captures(table, CardMask.value(card))) {
+                moves.add(Move.of(card, capture));
+            }
+        }
+        return moves;
+    }
+
+    /** {@code size} distinct cards drawn from {@code from}. */
+    static long randomCards(Random random, long from, int size) {
+        long cards = 0L;
+        while (Long.bitCount(cards) < size) {
+            int id = random.nextInt(CardMask.DECK_SIZE);
+            if (CardMask.contains(from, id)) {
+                cards |= 1L << id;
+            }
+        }
+        return cards;
+    }
+}
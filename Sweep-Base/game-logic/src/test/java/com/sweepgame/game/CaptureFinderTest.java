@@ -0,0 +1,69 @@
+package com.sweepgame.game;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CaptureFinderTest {
+
+    private static final int MAX_TABLE = 12;
+
+    @Test
+    void matchesBruteForceWithSharedCache() {
+        check(new CaptureFinder(), new Random(1), 1500);
+    }
+
+    @Test
+    void matchesBruteForceWhenCacheSlotsCollide() {
+        // Two slots: nearly every call evicts the previous table's entry
+        check(new CaptureFinder(new CaptureCache(2)), new Random(2), 1500);
+    }
+
+    @Test
+    void stopsWhenVisitorReturnsFalse() {
+        CaptureFinder finder = new CaptureFinder();
+        // Aces and fours of every suit: many ways to make 15 with a 7
+        long table = CardMask.ofValue(1) | CardMask.ofValue(4);
+        assertTrue(finder.count(table, 7) > 1);
+        final int[] visits = {0};
+        finder.forEach(table, 7, capture -> ++visits[0] < 3);
+        assertEquals(3, visits[0]);
+    }
+
+    private static void check(CaptureFinder finder, Random random, int tables) {
+        for (int t = 0; t < tables; t++) {
+            // Every other table only uses low values, which gives far more combinations
+            long from = t % 2 == 0 ? CardMask.ALL
+                    : CardMask.ofValue(1) | CardMask.ofValue(2) | CardMask.ofValue(3) | CardMask.ofValue(4);
+            int size = random.nextInt(Math.min(MAX_TABLE, Long.bitCount(from)) + 1);
+            long table = BruteForce.randomCards(random, from, size);
+            for (int value = 1; value <= 10; value++) {
+                Set<Long> expected = BruteForce.captures(table, value);
+                String where = "table " + Long.toHexString(table) + " value " + value;
+
+                Set<Long> visited = new HashSet<>();
+                finder.forEach(table, value, capture -> {
+                    assertTrue(visited.add(capture), where + ": repeated " + Long.toHexString(capture));
+                    return true;
+                });
+                assertEquals(expected, visited, where);
+                assertEquals(expected.size(), finder.count(table, value), where);
+                assertEquals(!expected.isEmpty(), finder.canCapture(table, value), where);
+
+                long first = finder.first(table, value);
+                if (expected.isEmpty()) {
+                    assertEquals(0L, first, where);
+                } else {
+                    assertTrue(expected.contains(first), where + ": first " + Long.toHexString(first));
+                    long pick = finder.random(table, value, random);
+                    assertTrue(expected.contains(pick), where + ": random " + Long.toHexString(pick));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.sweepgame.game;
+
+import com.sweepgame.game.ScoringRules.Aggregate;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GameLogTest {
+
+    /** 3p, starting seat 1, seed 42, random legal moves; written before logs recorded the scoring rules. */
+    private static final String V1_LOG = ""
+            + "01 03 01 00 00 00 00 00 00 00 2a 05 65 a3 01 5a 9c 44 0e 98 26 22 64 a6 "
+            + "1e f0 08 46 01 85 17 0d 13 5d a2 50 88 1f 4b 13 1e 9f f0 09 1b 20 40 09 "
+            + "97 4f 9b 03 14 07 56 03 0d 14 a0 f0 27 11 0a 59 91 02 0c 12 55 02 07 8a "
+            + "21 f1";
+
+    /** 2v2, starting seat 2, seed 7, escoba rules (preset 2). */
+    private static final String V2_LOG = ""
+            + "02 14 02 00 00 00 00 00 00 00 07 02 15 59 03 8e 04 20 5f 04 05 95 07 48 "
+            + "9a 0d 14 21 1b 4a 0d 14 9b f0 23 0f 11 18 09 27 13 65 8f 4b 20 a7 06 5e "
+            + "13 a1 10 f0 5c 90 16 57 18 a3 01 42 11 96 1d 0c 24 62 89 12 00 66 86 f1";
+
+    @Test
+    void replaysVersion1LogWithSweepRules() {
+        SweepLogic logic = SweepLogic.replay(hex(V1_LOG));
+        assertSame(ScoringRules.SWEEP, logic.getRules());
+        assertEquals(GameFormat.THREE_PLAYERS, logic.getFormat());
+        assertEquals(42L, logic.getSeed());
+        assertTrue(logic.isGameOver());
+        assertArrayEquals(new int[] {7, 4, 3}, totals(logic.getScores()));
+        assertEquals(0, logic.getWinningTeam());
+    }
+
+    @Test
+    void replaysVersion2LogWithRecordedRules() {
+        SweepLogic logic = SweepLogic.replay(hex(V2_LOG));
+        assertSame(ScoringRules.ESCOBA, logic.getRules());
+        assertEquals(GameFormat.TEAMS_2V2, logic.getFormat());
+        assertEquals(7L, logic.getSeed());
+        assertTrue(logic.isGameOver());
+        // The same moves score [6, 8] under the sweep rules, so this only holds if the rules were read back
+        assertArrayEquals(new int[] {2, 1}, totals(logic.getTeamScores()));
+        assertEquals(0, logic.getWinningTeam());
+    }
+
+    @Test
+    void replayReproducesRandomGames() {
+        ScoringRules house = new ScoringRules("House", ScoringRules.weights(CardMask.SEVENS, 2), 3,
+                Aggregate.most(CardMask.DIAMONDS, 1), Aggregate.primiera(2));
+        ScoringRules[] rules = {ScoringRules.SWEEP, ScoringRules.ESCOBA, ScoringRules.SCOPA, house};
+        for (GameFormat format : GameFormat.all()) {
+            for (long seed = 1; seed <= 25; seed++) {
+                SweepLogic played = play(seed, rules[(int) (seed % rules.length)], format);
+                byte[] log = played.getLog().toByteArray();
+                SweepLogic replayed = SweepLogic.replay(log);
+
+                String game = format + " seed " + seed;
+                assertEquals(played.getRules().getName(), replayed.getRules().getName(), game);
+                assertArrayEquals(log, replayed.getLog().toByteArray(), game);
+                assertArrayEquals(totals(played.getScores()), totals(replayed.getScores()), game);
+                assertArrayEquals(totals(played.getTeamScores()), totals(replayed.getTeamScores()), game);
+                assertEquals(played.getWinningTeam(), replayed.getWinningTeam(), game);
+                for (int seat = 0; seat < format.getSeats(); seat++) {
+                    PlayerScore a = played.getScores()[seat];
+                    PlayerScore b = replayed.getScores()[seat];
+                    assertEquals(a.getCards(), b.getCards(), game);
+                    assertEquals(a.getBrushes(), b.getBrushes(), game);
+                    assertEquals(a.getPoints(), b.getPoints(), game);
+                }
+            }
+        }
+    }
+
+    @Test
+    void rejectsLogsThatDoNotMatchTheGame() {
+        assertThrows(IllegalArgumentException.class, () -> SweepLogic.replay(new byte[0]));
+        byte[] future = hex(V2_LOG);
+        future[0] = (byte) (GameLog.VERSION + 1);
+        assertThrows(IllegalArgumentException.class, () -> SweepLogic.replay(future));
+        // A different seed deals different hands, so the first recorded card is not held
+        byte[] reseeded = hex(V2_LOG);
+        reseeded[10] = 8;
+        assertThrows(IllegalArgumentException.class, () -> SweepLogic.replay(reseeded));
+    }
+
+    /** Plays random legal moves to the end, dealing and finishing as the client does. */
+    static SweepLogic play(long seed, ScoringRules rules, GameFormat format) {
+        SweepLogic logic = new SweepLogic(seed, EngineMode.QUIET, rules, format);
+        logic.startGame((int) (seed % format.getSeats()));
+        Random random = new Random(seed);
+        MoveList moves = new MoveList();
+        while (!logic.isGameOver()) {
+            moves.clear();
+            int count = logic.generateMoves(moves);
+            assertTrue(logic.apply(moves.get(random.nextInt(count))));
+            if (logic.allHandsEmpty() && !logic.getDeck().isEmpty()) {
+                logic.dealNewRound();
+            }
+        }
+        logic.finishGame();
+        return logic;
+    }
+
+    private static int[] totals(PlayerScore[] scores) {
+        int[] totals = new int[scores.length];
+        for (int i = 0; i < scores.length; i++) {
+            totals[i] = scores[i].getTotal();
+        }
+        return totals;
+    }
+
+    private static byte[] hex(String log) {
+        String[] parts = log.trim().split(" +");
+        byte[] bytes = new byte[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            bytes[i] = (byte) Integer.parseInt(parts[i], 16);
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,107 @@
+package com.sweepgame.game;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SweepStateTest {
+
+    @Test
+    void movesMatchBruteForceAndUnmakeRestoresEveryState() {
+        Random random = new Random(8);
+        MoveGenerator generator = new MoveGenerator();
+        MoveList moves = new MoveList();
+        for (GameFormat format : GameFormat.all()) {
+            for (int game = 0; game < 20; game++) {
+                SweepState state = new SweepState(format);
+                state.reset(shuffledDeck(random), game);
+                assertEquals(Zobrist.hash(state), state.getHash());
+                SweepState root = copy(state);
+
+                while (!state.isGameOver()) {
+                    String where = format + " game " + game + " turn " + state.getTurn();
+                    long hand = state.getHand(state.getCurrentSeat());
+                    generator.generate(hand, state.getTable(), moves);
+                    assertEquals(BruteForce.moves(hand, state.getTable()), toSet(moves), where);
+
+                    SweepState before = copy(state);
+                    for (int i = 0; i < moves.size(); i++) {
+                        state.makeMove(moves.get(i));
+                        assertEquals(Zobrist.hash(state), state.getHash(), where + " after " + Move.toString(moves.get(i)));
+                        state.unmakeMove();
+                        assertSameState(before, state, where + " undo " + Move.toString(moves.get(i)));
+                    }
+                    state.makeMove(moves.get(random.nextInt(moves.size())));
+                }
+
+                // Unwinding the whole game, deals included, gets back to the opening position
+                while (state.getUndoDepth() > 0) {
+                    state.unmakeMove();
+                    assertEquals(Zobrist.hash(state), state.getHash());
+                }
+                assertSameState(root, state, format + " game " + game + " unwound");
+            }
+        }
+    }
+
+    @Test
+    void illegalCaptureIsLaidOnTheTableAndUndone() {
+        SweepState state = new SweepState(GameFormat.THREE_PLAYERS);
+        state.reset(shuffledDeck(new Random(3)), 0);
+        SweepState before = copy(state);
+        int card = Long.numberOfTrailingZeros(state.getHand(0));
+        // A card still in the deck is never a legal capture
+        long bogus = Long.lowestOneBit(state.getDeck());
+
+        state.makeMove(Move.of(card, bogus));
+        assertTrue(CardMask.contains(state.getTable(), card));
+        assertEquals(Zobrist.hash(state), state.getHash());
+        state.unmakeMove();
+        assertSameState(before, state, "illegal capture");
+    }
+
+    private static byte[] shuffledDeck(Random random) {
+        byte[] order = new byte[CardMask.DECK_SIZE];
+        for (int i = 0; i < order.length; i++) order[i] = (byte) i;
+        for (int i = order.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            byte tmp = order[i];
+            order[i] = order[j];
+            order[j] = tmp;
+        }
+        return order;
+    }
+
+    private static SweepState copy(SweepState state) {
+        SweepState copy = new SweepState(state.getFormat());
+        copy.copyFrom(state);
+        return copy;
+    }
+
+    private static Set<Long> toSet(MoveList moves) {
+        Set<Long> set = new HashSet<>();
+        for (int i = 0; i < moves.size(); i++) {
+            assertTrue(set.add(moves.get(i)), "repeated move " + Move.toString(moves.get(i)));
+        }
+        return set;
+    }
+
+    private static void assertSameState(SweepState expected, SweepState actual, String where) {
+        assertEquals(expected.getTable(), actual.getTable(), where + ": table");
+        assertEquals(expected.getDeck(), actual.getDeck(), where + ": deck");
+        assertEquals(expected.getDeckSize(), actual.getDeckSize(), where + ": deck size");
+        assertEquals(expected.getCurrentSeat(), actual.getCurrentSeat(), where + ": seat to move");
+        assertEquals(expected.getTurn(), actual.getTurn(), where + ": turn");
+        for (int s = 0; s < expected.getSeats(); s++) {
+            assertEquals(expected.getHand(s), actual.getHand(s), where + ": hand " + s);
+            assertEquals(expected.getStack(s), actual.getStack(s), where + ": stack " + s);
+            assertEquals(expected.getBrushes(s), actual.getBrushes(s), where + ": brushes " + s);
+        }
+        assertEquals(expected.getHash(), actual.getHash(), where + ": hash");
+    }
+}
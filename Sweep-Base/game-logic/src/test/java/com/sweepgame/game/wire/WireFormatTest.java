@@ -0,0 +1,152 @@
+package com.sweepgame.game.wire;
+
+import com.sweepgame.game.Card;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pins the byte layout of the frames described in {@link WireFormat}. The server
+ * encoder and the client decoder are written separately, and their tests check
+ * against these same frames, so a change here is a protocol change and needs a new
+ * {@link WireFormat#VERSION}.
+ */
+class WireFormatTest {
+
+    /** Session "s1", version 5, IN_PROGRESS, 3p, seat 1 to play, table [id 0, id 39], one player "ana". */
+    static final String GAME_STATE_FRAME = "01 01"
+            + " 03 73 31"
+            + " 05"
+            + " 0c 49 4e 5f 50 52 4f 47 52 45 53 53"
+            + " 03 33 70"
+            + " 01"
+            + " 02 00 27"
+            + " 01 04 61 6e 61 03 00 c8 01 01 00"
+            + " 00";
+
+    /** Version 6: seat 2 to play, id 5 taken, ids 7 and 8 laid, seat 1 now holds 2 cards with 3 points, "hi". */
+    static final String GAME_DELTA_FRAME = "01 02"
+            + " 06"
+            + " 6e"
+            + " 02"
+            + " 01 05"
+            + " 02 07 08"
+            + " 01 01 05 02 03"
+            + " 03 68 69";
+
+    @Test
+    void gameStateLayout() {
+        WireWriter out = new WireWriter().header(WireFormat.GAME_STATE);
+        out.writeString("s1");
+        out.writeVarint(5);
+        out.writeString("IN_PROGRESS");
+        out.writeString("3p");
+        out.writeVarint(1);
+        out.writeCards(Arrays.asList(Card.byId(0), Card.byId(39)));
+        out.writeVarint(1);
+        out.writeString("ana");
+        out.writeVarint(3);    // hand size
+        out.writeVarint(0);    // captured
+        out.writeVarint(200);  // points
+        out.writeVarint(1);    // sweeps
+        out.writeVarint(0);    // team
+        out.writeString(null);
+        assertArrayEquals(hex(GAME_STATE_FRAME), out.toByteArray());
+
+        WireReader in = new WireReader(hex(GAME_STATE_FRAME));
+        assertEquals(WireFormat.GAME_STATE, in.readHeader());
+        assertEquals("s1", in.readString());
+        assertEquals(5, in.readVarint());
+        assertEquals("IN_PROGRESS", in.readString());
+        assertEquals("3p", in.readString());
+        assertEquals(1, in.readVarint());
+        assertEquals(Arrays.asList(Card.byId(0), Card.byId(39)), in.readCards());
+        assertEquals(1, in.readCount());
+        assertEquals("ana", in.readString());
+        assertEquals(3, in.readVarint());
+        assertEquals(0, in.readVarint());
+        assertEquals(200, in.readVarint());
+        assertEquals(1, in.readVarint());
+        assertEquals(0, in.readVarint());
+        assertNull(in.readString());
+        assertFalse(in.hasRemaining());
+    }
+
+    @Test
+    void gameDeltaLayout() {
+        int flags = WireFormat.DELTA_CURRENT_PLAYER | WireFormat.DELTA_TABLE_REMOVED | WireFormat.DELTA_TABLE_ADDED
+                | WireFormat.DELTA_PLAYERS | WireFormat.DELTA_MESSAGE;
+        int playerFlags = WireFormat.PLAYER_HAND_SIZE | WireFormat.PLAYER_POINTS;
+
+        WireWriter out = new WireWriter().header(WireFormat.GAME_DELTA);
+        out.writeVarint(6);
+        out.writeByte(flags);
+        out.writeVarint(2);
+        out.writeCardIds(new int[] {5});
+        out.writeCardIds(new int[] {7, 8});
+        out.writeVarint(1);
+        out.writeVarint(1);
+        out.writeByte(playerFlags);
+        out.writeVarint(2);
+        out.writeVarint(3);
+        out.writeString("hi");
+        assertArrayEquals(hex(GAME_DELTA_FRAME), out.toByteArray());
+
+        WireReader in = new WireReader(hex(GAME_DELTA_FRAME));
+        assertEquals(WireFormat.GAME_DELTA, in.readHeader());
+        assertEquals(6, in.readVarint());
+        assertEquals(flags, in.readByte());
+        assertEquals(2, in.readVarint());
+        assertArrayEquals(new int[] {5}, in.readCardIds());
+        assertArrayEquals(new int[] {7, 8}, in.readCardIds());
+        assertEquals(1, in.readCount());
+        assertEquals(1, in.readVarint());
+        assertEquals(playerFlags, in.readByte());
+        assertEquals(2, in.readVarint());
+        assertEquals(3, in.readVarint());
+        assertEquals("hi", in.readString());
+        assertFalse(in.hasRemaining());
+    }
+
+    @Test
+    void flagBitsAreDistinct() {
+        int[] delta = {WireFormat.DELTA_GAME_STATE, WireFormat.DELTA_CURRENT_PLAYER, WireFormat.DELTA_TABLE_REMOVED,
+                WireFormat.DELTA_TABLE_ADDED, WireFormat.DELTA_TABLE, WireFormat.DELTA_PLAYERS, WireFormat.DELTA_MESSAGE};
+        int[] player = {WireFormat.PLAYER_HAND_SIZE, WireFormat.PLAYER_COLLECTED_SIZE, WireFormat.PLAYER_POINTS,
+                WireFormat.PLAYER_SWEEPS};
+        assertEquals(0x7F, orAll(delta));
+        assertEquals(0x0F, orAll(player));
+    }
+
+    @Test
+    void acceptsOnlyItsOwnVersion() {
+        assertTrue(WireFormat.accepts(Integer.toString(WireFormat.VERSION)));
+        assertTrue(WireFormat.accepts(" " + WireFormat.VERSION + " "));
+        assertFalse(WireFormat.accepts(null));
+        assertFalse(WireFormat.accepts(Integer.toString(WireFormat.VERSION + 1)));
+    }
+
+    private static int orAll(int[] bits) {
+        int all = 0;
+        for (int bit : bits) {
+            assertEquals(0, all & bit);
+            all |= bit;
+        }
+        return all;
+    }
+
+    static byte[] hex(String frame) {
+        String[] parts = frame.trim().split(" +");
+        byte[] bytes = new byte[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            bytes[i] = (byte) Integer.parseInt(parts[i], 16);
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,154 @@
+package com.sweepgame.game.wire;
+
+import com.sweepgame.game.Card;
+import com.sweepgame.game.CardMask;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class WireReaderTest {
+
+    @Test
+    void varintsRoundTrip() {
+        int[] values = {0, 1, 127, 128, 300, 16383, 16384, 1 << 21, Integer.MAX_VALUE, -1, Integer.MIN_VALUE};
+        WireWriter out = new WireWriter(1);
+        for (int v : values) {
+            out.writeVarint(v);
+        }
+        WireReader in = new WireReader(out.toByteArray());
+        for (int v : values) {
+            assertEquals(v, in.readVarint());
+        }
+        assertFalse(in.hasRemaining());
+    }
+
+    @Test
+    void varintLayout() {
+        assertArrayEquals(bytes(0x00), varint(0));
+        assertArrayEquals(bytes(0x7F), varint(127));
+        assertArrayEquals(bytes(0x80, 0x01), varint(128));
+        assertArrayEquals(bytes(0xAC, 0x02), varint(300));
+        assertArrayEquals(bytes(0xFF, 0xFF, 0xFF, 0xFF, 0x0F), varint(-1));
+    }
+
+    @Test
+    void stringsRoundTrip() {
+        String[] values = {null, "", "a", "Game Over! Winner: Joni", "\u00e7\u00e3o \u2660"};
+        WireWriter out = new WireWriter();
+        for (String s : values) {
+            out.writeString(s);
+        }
+        WireReader in = new WireReader(out.toByteArray());
+        for (String s : values) {
+            assertEquals(s, in.readString());
+        }
+        assertFalse(in.hasRemaining());
+    }
+
+    @Test
+    void nullAndEmptyStringsDiffer() {
+        WireWriter out = new WireWriter();
+        out.writeString(null);
+        out.writeString("");
+        assertArrayEquals(bytes(0x00, 0x01), out.toByteArray());
+    }
+
+    @Test
+    void cardsRoundTrip() {
+        List<Card> deck = new ArrayList<>();
+        for (int id = CardMask.DECK_SIZE - 1; id >= 0; id--) {
+            deck.add(Card.byId(id));
+        }
+        WireWriter out = new WireWriter();
+        out.writeCards(Collections.<Card>emptyList());
+        out.writeCards(deck);
+        out.writeCardIds(new int[0]);
+        out.writeCardIds(new int[] {0, 17, 39});
+
+        WireReader in = new WireReader(out.toByteArray());
+        assertEquals(Collections.emptyList(), in.readCards());
+        List<Card> read = in.readCards();
+        assertEquals(deck.size(), read.size());
+        for (int i = 0; i < deck.size(); i++) {
+            assertSame(deck.get(i), read.get(i));
+        }
+        assertArrayEquals(new int[0], in.readCardIds());
+        assertArrayEquals(new int[] {0, 17, 39}, in.readCardIds());
+        assertFalse(in.hasRemaining());
+    }
+
+    @Test
+    void readsFromOffset() {
+        WireWriter out = new WireWriter();
+        out.writeByte(0x7F);
+        out.writeVarint(300);
+        WireReader in = new WireReader(out.toByteArray(), 1);
+        assertEquals(300, in.readVarint());
+        assertEquals(3, in.position());
+    }
+
+    @Test
+    void headerChecksVersion() {
+        assertEquals(WireFormat.MOVE, new WireReader(new WireWriter().header(WireFormat.MOVE).toByteArray()).readHeader());
+        assertThrows(IllegalArgumentException.class,
+                () -> new WireReader(bytes(WireFormat.VERSION + 1, WireFormat.MOVE)).readHeader());
+    }
+
+    @Test
+    void rejectsTruncatedFrames() {
+        assertThrows(IllegalArgumentException.class, () -> new WireReader(bytes()).readByte());
+        assertThrows(IllegalArgumentException.class, () -> new WireReader(bytes(WireFormat.VERSION)).readHeader());
+        assertThrows(IllegalArgumentException.class, () -> new WireReader(bytes(0x80)).readVarint());
+        assertThrows(IllegalArgumentException.class, () -> new WireReader(bytes(0x80, 0x80)).readVarint());
+        // Length 4 but only two bytes follow
+        assertThrows(IllegalArgumentException.class, () -> new WireReader(bytes(0x05, 'a', 'b')).readString());
+        // Three cards announced, two present
+        assertThrows(IllegalArgumentException.class, () -> new WireReader(bytes(0x03, 0x01, 0x02)).readCards());
+        assertThrows(IllegalArgumentException.class, () -> new WireReader(bytes(0x03, 0x01, 0x02)).readCardIds());
+    }
+
+    @Test
+    void rejectsBadCounts() {
+        // Huge count in a tiny frame must not allocate
+        assertThrows(IllegalArgumentException.class, () -> new WireReader(varint(Integer.MAX_VALUE)).readCount());
+        assertThrows(IllegalArgumentException.class, () -> new WireReader(varint(-1)).readCount());
+        assertThrows(IllegalArgumentException.class, () -> new WireReader(varint(1 << 20)).readCards());
+        // Varint running past five bytes
+        assertThrows(IllegalArgumentException.class,
+                () -> new WireReader(bytes(0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0x01)).readVarint());
+    }
+
+    @Test
+    void rejectsBadCardIds() {
+        assertThrows(IllegalArgumentException.class, () -> new WireReader(bytes(CardMask.DECK_SIZE)).readCard());
+        assertThrows(IllegalArgumentException.class, () -> new WireReader(bytes(0x01, 0xFF)).readCards());
+    }
+
+    @Test
+    void nullStringReadsAsNull() {
+        assertNull(new WireReader(bytes(0x00)).readString());
+    }
+
+    private static byte[] varint(int value) {
+        WireWriter out = new WireWriter();
+        out.writeVarint(value);
+        return out.toByteArray();
+    }
+
+    static byte[] bytes(int... values) {
+        byte[] b = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            b[i] = (byte) values[i];
+        }
+        return b;
+    }
+}
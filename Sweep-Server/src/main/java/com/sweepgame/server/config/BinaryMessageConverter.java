@@ -0,0 +1,171 @@
+package com.sweepgame.server.config;
+
+import com.sweepgame.game.wire.WireFormat;
+import com.sweepgame.game.wire.WireReader;
+import com.sweepgame.game.wire.WireWriter;
+import com.sweepgame.server.model.dto.GameDeltaDTO;
+import com.sweepgame.server.model.dto.GameStateDTO;
+import com.sweepgame.server.model.dto.MoveDTO;
+import com.sweepgame.server.model.dto.QueueStatusDTO;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.converter.AbstractMessageConverter;
+import org.springframework.messaging.converter.MessageConversionException;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Server side of the binary {@link WireFormat}: encodes game state, deltas and
+ * queue status for clients that negotiated it and decodes their moves. The client
+ * converter holds the opposite direction, so each message has one encoder and one
+ * decoder. Registered ahead of the JSON converter, it only takes frames whose
+ * content type is {@link WireFormat#CONTENT_TYPE}, so JSON clients are unaffected.
+ */
+@Component
+public class BinaryMessageConverter extends AbstractMessageConverter {
+
+    public static final MimeType MIME_TYPE = MimeType.valueOf(WireFormat.CONTENT_TYPE);
+
+    public BinaryMessageConverter() {
+        super(MIME_TYPE);
+        // Frames without a content type are left to the JSON converter
+        setStrictContentTypeMatch(true);
+    }
+
+    /** Whether {@code payload} has a binary form; other messages always go out as JSON. */
+    public boolean canEncode(Object payload) {
+        return payload instanceof GameStateDTO || payload instanceof GameDeltaDTO
+                || payload instanceof QueueStatusDTO;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return clazz == GameStateDTO.class || clazz == GameDeltaDTO.class || clazz == QueueStatusDTO.class
+                || clazz == MoveDTO.class;
+    }
+
+    @Override
+    protected boolean canConvertTo(Object payload, MessageHeaders headers) {
+        return canEncode(payload) && supportsMimeType(headers);
+    }
+
+    @Override
+    protected Object convertFromInternal(Message<?> message, Class<?> targetClass, Object conversionHint) {
+        if (!(message.getPayload() instanceof byte[])) {
+            return null;
+        }
+        try {
+            Object decoded = decode((byte[]) message.getPayload());
+            return targetClass.isInstance(decoded) ? decoded : null;
+        } catch (IllegalArgumentException e) {
+            throw new MessageConversionException(message, "Malformed binary frame: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    protected Object convertToInternal(Object payload, MessageHeaders headers, Object conversionHint) {
+        return encode(payload);
+    }
+
+    public byte[] encode(Object payload) {
+        if (payload instanceof GameStateDTO) return encodeState((GameStateDTO) payload);
+        if (payload instanceof GameDeltaDTO) return encodeDelta((GameDeltaDTO) payload);
+        if (payload instanceof QueueStatusDTO) return encodeQueueStatus((QueueStatusDTO) payload);
+        throw new IllegalArgumentException("No binary form for " + payload.getClass().getSimpleName());
+    }
+
+    // Clients only send moves in binary
+    public Object decode(byte[] bytes) {
+        WireReader in = new WireReader(bytes);
+        int tag = in.readHeader();
+        if (tag != WireFormat.MOVE) {
+            throw new IllegalArgumentException("Unexpected message tag: " + tag);
+        }
+        return decodeMove(in);
+    }
+
+    private static byte[] encodeState(GameStateDTO state) {
+        WireWriter out = new WireWriter(128).header(WireFormat.GAME_STATE);
+        out.writeString(state.getSessionId());
+        out.writeVarint(state.getVersion());
+        out.writeString(state.getGameState());
+        out.writeString(state.getFormat());
+        out.writeVarint(state.getCurrentPlayerIndex());
+        out.writeCards(state.getTableCards() != null ? state.getTableCards() : new ArrayList<>());
+        List<GameStateDTO.PlayerStateDTO> players = state.getPlayers() != null ? state.getPlayers() : new ArrayList<>();
+        out.writeVarint(players.size());
+        for (GameStateDTO.PlayerStateDTO p : players) {
+            out.writeString(p.getUsername());
+            out.writeVarint(p.getHandSize());
+            out.writeVarint(p.getCollectedSize());
+            out.writeVarint(p.getPoints());
+            out.writeVarint(p.getSweeps());
+            out.writeVarint(p.getTeam());
+        }
+        out.writeString(state.getMessage());
+        return out.toByteArray();
+    }
+
+    private static byte[] encodeDelta(GameDeltaDTO delta) {
+        WireWriter out = new WireWriter().header(WireFormat.GAME_DELTA);
+        out.writeVarint(delta.getVersion());
+        int flags = 0;
+        if (delta.getGameState() != null) flags |= WireFormat.DELTA_GAME_STATE;
+        if (delta.getCurrentPlayerIndex() != null) flags |= WireFormat.DELTA_CURRENT_PLAYER;
+        if (delta.getTableRemoved() != null) flags |= WireFormat.DELTA_TABLE_REMOVED;
+        if (delta.getTableAdded() != null) flags |= WireFormat.DELTA_TABLE_ADDED;
+        if (delta.getTable() != null) flags |= WireFormat.DELTA_TABLE;
+        if (delta.getPlayers() != null) flags |= WireFormat.DELTA_PLAYERS;
+        if (delta.getMessage() != null) flags |= WireFormat.DELTA_MESSAGE;
+        out.writeByte(flags);
+
+        if (delta.getGameState() != null) out.writeString(delta.getGameState());
+        if (delta.getCurrentPlayerIndex() != null) out.writeVarint(delta.getCurrentPlayerIndex());
+        if (delta.getTableRemoved() != null) out.writeCardIds(delta.getTableRemoved());
+        if (delta.getTableAdded() != null) out.writeCardIds(delta.getTableAdded());
+        if (delta.getTable() != null) out.writeCardIds(delta.getTable());
+        if (delta.getPlayers() != null) {
+            out.writeVarint(delta.getPlayers().size());
+            for (GameDeltaDTO.PlayerDeltaDTO p : delta.getPlayers()) {
+                out.writeVarint(p.getSeat());
+                int playerFlags = 0;
+                if (p.getHandSize() != null) playerFlags |= WireFormat.PLAYER_HAND_SIZE;
+                if (p.getCollectedSize() != null) playerFlags |= WireFormat.PLAYER_COLLECTED_SIZE;
+                if (p.getPoints() != null) playerFlags |= WireFormat.PLAYER_POINTS;
+                if (p.getSweeps() != null) playerFlags |= WireFormat.PLAYER_SWEEPS;
+                out.writeByte(playerFlags);
+                if (p.getHandSize() != null) out.writeVarint(p.getHandSize());
+                if (p.getCollectedSize() != null) out.writeVarint(p.getCollectedSize());
+                if (p.getPoints() != null) out.writeVarint(p.getPoints());
+                if (p.getSweeps() != null) out.writeVarint(p.getSweeps());
+            }
+        }
+        if (delta.getMessage() != null) out.writeString(delta.getMessage());
+        return out.toByteArray();
+    }
+
+    private static byte[] encodeQueueStatus(QueueStatusDTO status) {
+        WireWriter out = new WireWriter(32).header(WireFormat.QUEUE_STATUS);
+        out.writeString(status.getStatus());
+        out.writeVarint(status.getQueueSize());
+        out.writeString(status.getFormat());
+        out.writeVarint(status.getSeats());
+        return out.toByteArray();
+    }
+
+    private static MoveDTO decodeMove(WireReader in) {
+        MoveDTO move = new MoveDTO();
+        move.setSessionId(in.readString());
+        move.setHandCardIndex(in.readVarint());
+        int count = in.readCount();
+        List<Integer> indices = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            indices.add(in.readVarint());
+        }
+        move.setTableCardIndices(indices);
+        return move;
+    }
+}
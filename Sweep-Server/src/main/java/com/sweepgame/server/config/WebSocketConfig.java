@@ -1,12 +1,17 @@
 package com.sweepgame.server.config;
 
+import com.sweepgame.game.wire.WireFormat;
+import com.sweepgame.server.service.ClientCodecs;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.converter.MessageConverter;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
 
+import java.util.List;
+
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
@@ -14,6 +19,12 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     @Autowired
     private com.sweepgame.server.config.JwtConfig jwtConfig;
 
+    @Autowired
+    private BinaryMessageConverter binaryMessageConverter;
+
+    @Autowired
+    private ClientCodecs clientCodecs;
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
         config.enableSimpleBroker("/topic", "/queue");
@@ -27,6 +38,13 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                 .withSockJS();
     }
 
+    @Override
+    public boolean configureMessageConverters(List<MessageConverter> messageConverters) {
+        // Binary frames first; anything else falls through to the default JSON converters
+        messageConverters.add(binaryMessageConverter);
+        return true;
+    }
+
     @Override
     public void configureClientInboundChannel(
             org.springframework.messaging.simp.config.ChannelRegistration registration) {
@@ -47,6 +65,8 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                                 org.springframework.security.authentication.UsernamePasswordAuthenticationToken auth = new org.springframework.security.authentication.UsernamePasswordAuthenticationToken(
                                         username, null, java.util.Collections.emptyList());
                                 accessor.setUser(auth);
+                                clientCodecs.connected(username, accessor.getSessionId(),
+                                        accessor.getFirstNativeHeader(WireFormat.CODEC_HEADER));
                             }
                         } catch (Exception e) {
                             // Token invalid
@@ -1,14 +1,18 @@
 package com.sweepgame.server.controller;
 
 import com.sweepgame.game.Card;
+import com.sweepgame.game.GameFormat;
 import com.sweepgame.game.Player;
 import com.sweepgame.server.config.JwtConfig;
 import com.sweepgame.server.model.GameSession;
 import com.sweepgame.server.model.PlayerConnection;
-import com.sweepgame.server.model.dto.GameStateDTO;
 import com.sweepgame.server.model.dto.MoveDTO;
+import com.sweepgame.server.model.dto.QueueStatusDTO;
+import com.sweepgame.server.service.GameBroadcaster;
 import com.sweepgame.server.service.GameSessionManager;
+import com.sweepgame.server.service.GameStatePublisher;
 import com.sweepgame.server.service.MatchmakingService;
+import com.sweepgame.server.service.SessionExecutor;
 import com.sweepgame.server.service.UserService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -20,6 +24,7 @@ import org.springframework.stereotype.Controller;
 
 import java.security.Principal;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -43,6 +48,18 @@ public class GameController {
     @Autowired
     private SimpMessagingTemplate messagingTemplate;
 
+    // Everything that touches a session's game runs on its stripe, in arrival order
+    @Autowired
+    private SessionExecutor sessionExecutor;
+
+    // Encodes a broadcast once and sends the same bytes to every recipient
+    @Autowired
+    private GameBroadcaster broadcaster;
+
+    // Full state when a game starts, deltas against the last published state after that
+    @Autowired
+    private GameStatePublisher gameStatePublisher;
+
     @MessageMapping("/game/join")
     public void joinMatchmaking(@Payload Map<String, Object> payload, Principal principal) {
         if (principal == null) {
@@ -51,8 +68,16 @@ public class GameController {
         }
         String username = principal.getName();
         boolean isRanked = (boolean) payload.getOrDefault("ranked", false);
+        GameFormat format;
+        try {
+            format = GameFormat.parse(String.valueOf(payload.getOrDefault("format", GameFormat.THREE_PLAYERS.getName())));
+        } catch (IllegalArgumentException e) {
+            sendError(username, e.getMessage());
+            return;
+        }
 
-        logger.info("[MATCHMAKING] Player {} attempting to join {} queue", username, isRanked ? "ranked" : "casual");
+        logger.info("[MATCHMAKING] Player {} attempting to join {} {} queue", username,
+                isRanked ? "ranked" : "casual", format);
 
         // Get user ID
         var user = userService.getUserByUsername(username);
@@ -67,30 +92,31 @@ public class GameController {
         logger.debug("[MATCHMAKING] Created PlayerConnection for {}", username);
 
         // Join queue
-        String sessionId = matchmakingService.joinQueue(player, isRanked);
+        String sessionId = matchmakingService.joinQueue(player, isRanked, format);
 
         if (sessionId != null) {
             logger.info("[MATCHMAKING] Match FOUND for {}! Session ID: {}", username, sessionId);
             // Match found! Start game
-            GameSession session = sessionManager.getSession(sessionId);
-            sessionManager.startSession(sessionId);
+            sessionExecutor.execute(sessionId, () -> {
+                GameSession session = sessionManager.getSession(sessionId);
+                gameStatePublisher.batch(session, () -> {
+                    sessionManager.startSession(sessionId);
 
-            // Notify all players
-            broadcastGameState(session);
+                    // Notify all players
+                    gameStatePublisher.publish(session);
+                });
 
-            logger.info("[GAME] Session {} started and broadcast to players", sessionId);
+                logger.info("[GAME] Session {} started and broadcast to players", sessionId);
+            });
         } else {
             // Still waiting for players
-            int queueSize = matchmakingService.getQueueSize(isRanked);
-            logger.info("[MATCHMAKING] Player {} added to queue. Current queue size: {}", username, queueSize);
+            int queueSize = matchmakingService.getQueueSize(isRanked, format);
+            logger.info("[MATCHMAKING] Player {} added to {} queue. Current queue size: {}", username, format, queueSize);
 
-            Map<String, Object> response = new HashMap<>();
-            response.put("status", "waiting");
-            response.put("queueSize", queueSize);
-            messagingTemplate.convertAndSendToUser(username, "/queue/matchmaking", response);
+            broadcaster.sendToUsers(Collections.singletonList(username), "/queue/matchmaking", queueStatus(format, queueSize));
 
             // Broadcast new size to others in queue
-            broadcastQueueUpdate(isRanked);
+            broadcastQueueUpdate(isRanked, format);
         }
     }
 
@@ -116,27 +142,31 @@ public class GameController {
         // Note: We don't remove from session here necessarily, as they might be just
         // leaving the queue, not an active game.
         // But if consistent with logic:
-        sessionManager.removePlayerFromSession(username);
+        GameSession session = sessionManager.getSessionByPlayer(username);
+        if (session != null) {
+            sessionExecutor.execute(session.getSessionId(), () -> sessionManager.removePlayerFromSession(username));
+        }
         logger.info("[MATCHMAKING] Player {} removed from queue/session", username);
 
-        broadcastQueueUpdate(false); // Update casual
-        broadcastQueueUpdate(true); // Update ranked
+        for (GameFormat format : GameFormat.all()) {
+            broadcastQueueUpdate(false, format); // Update casual
+            broadcastQueueUpdate(true, format); // Update ranked
+        }
     }
 
-    private void broadcastQueueUpdate(boolean isRanked) {
-        int size = matchmakingService.getQueueSize(isRanked);
-        List<PlayerConnection> waitingPlayers = matchmakingService.getQueuePlayers(isRanked);
+    private QueueStatusDTO queueStatus(GameFormat format, int size) {
+        return new QueueStatusDTO("waiting", size, format.getName(), format.getSeats());
+    }
 
-        Map<String, Object> response = new HashMap<>();
-        response.put("status", "waiting");
-        response.put("queueSize", size);
+    private void broadcastQueueUpdate(boolean isRanked, GameFormat format) {
+        List<PlayerConnection> waitingPlayers = matchmakingService.getQueuePlayers(isRanked, format);
+        if (waitingPlayers.isEmpty()) return;
 
+        List<String> usernames = new ArrayList<>(waitingPlayers.size());
         for (PlayerConnection player : waitingPlayers) {
-            messagingTemplate.convertAndSendToUser(
-                    player.getUsername(),
-                    "/queue/matchmaking",
-                    response);
+            usernames.add(player.getUsername());
         }
+        broadcaster.sendToUsers(usernames, "/queue/matchmaking", queueStatus(format, waitingPlayers.size()));
     }
 
     @MessageMapping("/game/move")
@@ -150,6 +180,12 @@ public class GameController {
             return;
         }
 
+        // Play, new round and game end go out together when the move is done
+        sessionExecutor.execute(session.getSessionId(),
+                () -> gameStatePublisher.batch(session, () -> applyMove(session, username, move)));
+    }
+
+    private void applyMove(GameSession session, String username, MoveDTO move) {
         if (!session.isActive()) {
             sendError(username, "Game is not active");
             return;
@@ -189,12 +225,12 @@ public class GameController {
             session.getGameLogic().playCardWithSelection(gamePlayer, handCard, selectedCards);
 
             // Broadcast updated game state
-            broadcastGameState(session);
+            gameStatePublisher.publish(session);
 
             // Check if need to deal new round
             if (session.getGameLogic().allHandsEmpty() && !session.getGameLogic().getDeck().isEmpty()) {
                 session.getGameLogic().dealNewRound();
-                broadcastGameState(session);
+                gameStatePublisher.publish(session);
             }
 
             // Check if game is over
@@ -219,6 +255,11 @@ public class GameController {
             return;
         }
 
+        sessionExecutor.execute(session.getSessionId(),
+                () -> gameStatePublisher.batch(session, () -> applyReady(session, username)));
+    }
+
+    private void applyReady(GameSession session, String username) {
         PlayerConnection player = session.getPlayerByUsername(username);
         if (player != null) {
             player.setReady(true);
@@ -228,80 +269,81 @@ public class GameController {
         boolean allReady = session.getPlayers().stream().allMatch(PlayerConnection::isReady);
         if (allReady && session.getState() == GameSession.GameState.READY) {
             sessionManager.startSession(session.getSessionId());
-            broadcastGameState(session);
+            gameStatePublisher.publish(session);
         }
     }
 
-    private void broadcastGameState(GameSession session) {
-        GameStateDTO state = buildGameState(session);
-
-        // Send to all players in the session
-        for (PlayerConnection player : session.getPlayers()) {
-            messagingTemplate.convertAndSendToUser(
-                    player.getUsername(),
-                    "/queue/game-state",
-                    state);
+    @MessageMapping("/game/spectate")
+    public void spectate(@Payload Map<String, Object> payload, Principal principal) {
+        String username = principal.getName();
+        String sessionId = String.valueOf(payload.get("sessionId"));
+        GameSession session = sessionManager.getSession(sessionId);
+        if (session == null) {
+            sendError(username, "Session not found");
+            return;
         }
+
+        sessionExecutor.execute(sessionId, () -> {
+            session.getSpectators().add(username);
+            logger.info("{} is spectating session {}", username, sessionId);
+            gameStatePublisher.sendFull(session, username);
+        });
     }
 
-    private GameStateDTO buildGameState(GameSession session) {
-        GameStateDTO dto = new GameStateDTO();
-        dto.setSessionId(session.getSessionId());
-        dto.setGameState(session.getState().name());
-
-        if (session.getGameLogic() != null) {
-            Player currentPlayer = session.getGameLogic().getCurrentPlayer();
-            int currentIndex = session.getGameLogic().getPlayers().indexOf(currentPlayer);
-            dto.setCurrentPlayerIndex(currentIndex);
-            dto.setTableCards(session.getGameLogic().getTableCards());
-
-            List<GameStateDTO.PlayerStateDTO> playerStates = new ArrayList<>();
-            for (int i = 0; i < session.getPlayers().size(); i++) {
-                PlayerConnection pc = session.getPlayers().get(i);
-                Player player = session.getGamePlayer(i);
-
-                if (player != null) {
-                    GameStateDTO.PlayerStateDTO ps = new GameStateDTO.PlayerStateDTO();
-                    ps.setUsername(pc.getUsername());
-                    ps.setHandSize(player.getHand().size());
-                    ps.setCollectedSize(player.getPointsStack().size());
-                    ps.setPoints(player.calculatePoints());
-                    ps.setSweeps(player.getBrushes());
-                    ps.setCurrentPlayer(i == currentIndex);
-
-                    playerStates.add(ps);
-                }
+    /**
+     * Sent by a client that missed a delta version; answers with the full state.
+     * Players are found by name, spectators name the session they watch.
+     */
+    @MessageMapping("/game/resync")
+    public void resync(@Payload(required = false) Map<String, Object> payload, Principal principal) {
+        String username = principal.getName();
+        GameSession session = sessionManager.getSessionByPlayer(username);
+        if (session == null && payload != null && payload.get("sessionId") != null) {
+            GameSession watched = sessionManager.getSession(String.valueOf(payload.get("sessionId")));
+            if (watched != null && watched.getSpectators().contains(username)) {
+                session = watched;
             }
-            dto.setPlayers(playerStates);
+        }
+        if (session == null) {
+            sendError(username, "Not in a game session");
+            return;
         }
 
-        return dto;
+        GameSession resynced = session;
+        sessionExecutor.execute(session.getSessionId(), () -> gameStatePublisher.sendFull(resynced, username));
+    }
+
+    @MessageMapping("/game/spectate/stop")
+    public void stopSpectating(@Payload Map<String, Object> payload, Principal principal) {
+        String username = principal.getName();
+        GameSession session = sessionManager.getSession(String.valueOf(payload.get("sessionId")));
+        if (session != null) {
+            sessionExecutor.execute(session.getSessionId(), () -> session.getSpectators().remove(username));
+        }
     }
 
     private void handleGameEnd(GameSession session) {
         logger.info("Game ended for session: {}", session.getSessionId());
 
-        // Determine winner
-        Player winner = session.getGameLogic().getWinner();
-        int winnerIndex = session.getGameLogic().getPlayers().indexOf(winner);
-        PlayerConnection winnerConnection = session.getPlayers().get(winnerIndex);
-
-        // Broadcast final state
-        GameStateDTO finalState = buildGameState(session);
-        finalState.setMessage("Game Over! Winner: " + winnerConnection.getUsername());
+        // Finish first: the leftover table cards are awarded here and can change the winner
+        sessionManager.finishSession(session.getSessionId());
 
-        for (PlayerConnection player : session.getPlayers()) {
-            messagingTemplate.convertAndSendToUser(
-                    player.getUsername(),
-                    "/queue/game-state",
-                    finalState);
+        // Determine winner: a single seat, or every seat of the winning team
+        GameFormat format = session.getFormat();
+        int winningTeam = session.getGameLogic().getWinningTeam();
+        List<String> winners = new ArrayList<>();
+        for (int seat = 0; seat < session.getPlayers().size(); seat++) {
+            if (format.teamOf(seat) == winningTeam) {
+                winners.add(session.getPlayers().get(seat).getUsername());
+            }
         }
 
+        // Broadcast final state; inside a move's batch this joins its single frame
+        gameStatePublisher.publish(session, (winners.size() > 1 ? "Game Over! Winners: " : "Game Over! Winner: ")
+                + String.join(", ", winners));
+
         // TODO: Save game history to database
         // TODO: Update player stats
-
-        // Finish session
-        sessionManager.finishSession(session.getSessionId());
     }
 
     private void sendError(String username, String message) {
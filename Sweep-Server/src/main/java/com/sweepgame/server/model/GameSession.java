@@ -1,25 +1,40 @@
 package com.sweepgame.server.model;
 
+import com.sweepgame.game.EngineMode;
+import com.sweepgame.game.GameFormat;
 import com.sweepgame.game.Player;
+import com.sweepgame.game.ScoringRules;
 import com.sweepgame.game.SweepLogic;
+import com.sweepgame.server.model.dto.GameStateDTO;
 import lombok.Data;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Data
 public class GameSession {
     
     private String sessionId;
     private List<PlayerConnection> players;
+    private Set<String> spectators = ConcurrentHashMap.newKeySet();
     private SweepLogic gameLogic;
     private GameState state;
     private LocalDateTime createdAt;
     private LocalDateTime startedAt;
     private LocalDateTime finishedAt;
     private boolean isRanked;
+    private GameFormat format;
+    // Last state sent to the recipients; deltas are taken against it
+    private GameStateDTO publishedState;
+    // Outbound batch of the message being handled: publishes wait here until it ends
+    private boolean batchOpen;
+    private boolean publishPending;
+    private String pendingMessage;
     
     public enum GameState {
         WAITING,     // Waiting for players
@@ -28,22 +43,23 @@ public class GameSession {
         FINISHED     // Game completed
     }
     
-    public GameSession(boolean isRanked) {
+    public GameSession(boolean isRanked, GameFormat format) {
         this.sessionId = UUID.randomUUID().toString();
-        this.players = new ArrayList<>();
+        this.format = format;
+        this.players = new ArrayList<>(format.getSeats());
         this.state = GameState.WAITING;
         this.createdAt = LocalDateTime.now();
         this.isRanked = isRanked;
     }
     
     public void addPlayer(PlayerConnection player) {
-        if (players.size() >= 3) {
+        if (players.size() >= format.getSeats()) {
             throw new IllegalStateException("Game session is full");
         }
         players.add(player);
         player.setSessionId(this.sessionId);
         
-        if (players.size() == 3) {
+        if (players.size() == format.getSeats()) {
             state = GameState.READY;
         }
     }
@@ -61,8 +77,11 @@ public class GameSession {
             throw new IllegalStateException("Cannot start game in state: " + state);
         }
         
-        // Initialize game logic
-        gameLogic = new SweepLogic();
+        // Initialize game logic; per-move engine logging is off on the server, but
+        // snapshots are published after every move so any thread can read the state
+        gameLogic = new SweepLogic(ThreadLocalRandom.current().nextLong(), EngineMode.QUIET,
+                ScoringRules.SWEEP, format);
+        gameLogic.enableSnapshots();
         gameLogic.startGame();
         
         state = GameState.IN_PROGRESS;
@@ -78,13 +97,23 @@ public class GameSession {
     }
     
     public boolean isFull() {
-        return players.size() >= 3;
+        return players.size() >= format.getSeats();
     }
     
     public boolean isActive() {
         return state == GameState.IN_PROGRESS;
     }
     
+    /** Usernames that receive state broadcasts: the players in seat order, then spectators. */
+    public List<String> getRecipients() {
+        List<String> recipients = new ArrayList<>(players.size() + spectators.size());
+        for (PlayerConnection p : players) {
+            recipients.add(p.getUsername());
+        }
+        recipients.addAll(spectators);
+        return recipients;
+    }
+
     public PlayerConnection getPlayerByUsername(String username) {
         return players.stream()
                 .filter(p -> p.getUsername().equals(username))
@@ -102,9 +131,9 @@ public class GameSession {
     }
     
     public Player getGamePlayer(int index) {
-        if (gameLogic == null || index < 0 || index >= gameLogic.getPlayers().size()) {
+        if (gameLogic == null || index < 0 || index >= format.getSeats()) {
             return null;
         }
-        return gameLogic.getPlayers().get(index);
+        return gameLogic.getPlayer(index);
     }
 }
@@ -0,0 +1,36 @@
+package com.sweepgame.server.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Changes from the previous {@link GameStateDTO} of a session. Fields left null did
+ * not change; cards are sent as their ids. {@code version} is one more than the
+ * version the delta applies to.
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class GameDeltaDTO {
+
+    private int version;
+    private String gameState;
+    private Integer currentPlayerIndex;
+    private int[] tableRemoved;
+    private int[] tableAdded;
+    // Whole table, only when it was not just cards removed and cards appended
+    private int[] table;
+    private List<PlayerDeltaDTO> players;
+    private String message;
+
+    @Data
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class PlayerDeltaDTO {
+        private int seat;
+        private Integer handSize;
+        private Integer collectedSize;
+        private Integer points;
+        private Integer sweeps;
+    }
+}
@@ -9,7 +9,9 @@ import java.util.List;
 public class GameStateDTO {
     
     private String sessionId;
+    private int version;
     private String gameState;
+    private String format;
     private int currentPlayerIndex;
     private List<Card> tableCards;
     private List<PlayerStateDTO> players;
@@ -23,5 +25,6 @@ public class GameStateDTO {
         private int points;
         private int sweeps;
         private boolean isCurrentPlayer;
+        private int team;
     }
 }
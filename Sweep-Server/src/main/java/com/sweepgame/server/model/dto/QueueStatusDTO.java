@@ -0,0 +1,23 @@
+package com.sweepgame.server.model.dto;
+
+import lombok.Data;
+
+/** Sent on "/queue/matchmaking" while a player waits for their table to fill. */
+@Data
+public class QueueStatusDTO {
+
+    private String status;
+    private int queueSize;
+    private String format;
+    private int seats;
+
+    public QueueStatusDTO() {
+    }
+
+    public QueueStatusDTO(String status, int queueSize, String format, int seats) {
+        this.status = status;
+        this.queueSize = queueSize;
+        this.format = format;
+        this.seats = seats;
+    }
+}
@@ -0,0 +1,63 @@
+package com.sweepgame.server.service;
+
+import com.sweepgame.game.wire.WireFormat;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which STOMP connections asked for the binary {@link WireFormat} when they
+ * connected. A message to a user reaches every connection of that user, so a user is
+ * sent binary only while all of their connections negotiated it; otherwise JSON.
+ */
+@Service
+public class ClientCodecs {
+    private static final Logger logger = LoggerFactory.getLogger(ClientCodecs.class);
+
+    // Username -> (STOMP session id -> binary); the inner maps are replaced, never changed
+    private final Map<String, Map<String, Boolean>> sessionsByUser = new ConcurrentHashMap<>();
+    private final Map<String, String> userBySession = new ConcurrentHashMap<>();
+
+    /**
+     * Called on STOMP CONNECT of session {@code sessionId} with the client's
+     * {@link WireFormat#CODEC_HEADER}, which may be null.
+     */
+    public void connected(String username, String sessionId, String codecHeader) {
+        boolean binary = WireFormat.accepts(codecHeader);
+        userBySession.put(sessionId, username);
+        sessionsByUser.compute(username, (user, sessions) -> {
+            Map<String, Boolean> next = sessions != null ? new HashMap<>(sessions) : new HashMap<>();
+            next.put(sessionId, binary);
+            return next;
+        });
+        if (binary) {
+            logger.debug("{} ({}) uses binary wire format v{}", username, sessionId, WireFormat.VERSION);
+        }
+    }
+
+    public boolean isBinary(String username) {
+        Map<String, Boolean> sessions = sessionsByUser.get(username);
+        return sessions != null && !sessions.containsValue(Boolean.FALSE);
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        String sessionId = event.getSessionId();
+        String username = userBySession.remove(sessionId);
+        if (username == null) {
+            return;
+        }
+        sessionsByUser.computeIfPresent(username, (user, sessions) -> {
+            if (!sessions.containsKey(sessionId)) return sessions;
+            Map<String, Boolean> next = new HashMap<>(sessions);
+            next.remove(sessionId);
+            return next.isEmpty() ? null : next;
+        });
+    }
+}
@@ -0,0 +1,88 @@
+package com.sweepgame.server.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sweepgame.server.config.BinaryMessageConverter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Service;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+
+/**
+ * Sends one payload to many users while encoding it only once. The payload is
+ * written to JSON a single time and wrapped in an immutable message; every
+ * recipient's send reuses the same byte array and only gets its own destination
+ * header, instead of going through the message converters again. Users who asked
+ * for the binary wire format get a binary encoding, also made at most once.
+ */
+@Service
+public class GameBroadcaster {
+    private static final Logger logger = LoggerFactory.getLogger(GameBroadcaster.class);
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BinaryMessageConverter binaryConverter;
+
+    @Autowired
+    private ClientCodecs clientCodecs;
+
+    /** Encodes {@code payload} as a JSON message that can be sent any number of times. */
+    private Message<byte[]> encode(Object payload) {
+        try {
+            return message(objectMapper.writeValueAsBytes(payload), MimeTypeUtils.APPLICATION_JSON);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot encode " + payload.getClass().getSimpleName(), e);
+        }
+    }
+
+    /** Encodes {@code payload} in the binary wire format; see {@link BinaryMessageConverter#canEncode}. */
+    private Message<byte[]> encodeBinary(Object payload) {
+        return message(binaryConverter.encode(payload), BinaryMessageConverter.MIME_TYPE);
+    }
+
+    private static Message<byte[]> message(byte[] payload, MimeType contentType) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setContentType(contentType);
+        // Immutable headers make each send copy them rather than set its destination on the shared message
+        accessor.setImmutable();
+        return MessageBuilder.createMessage(payload, accessor.getMessageHeaders());
+    }
+
+    /**
+     * Sends {@code payload} to {@code destination} (e.g. "/queue/game-state") of each
+     * user in the format they negotiated, encoding each format once.
+     */
+    public void sendToUsers(Iterable<String> usernames, String destination, Object payload) {
+        String prefix = messagingTemplate.getUserDestinationPrefix();
+        boolean binaryForm = binaryConverter.canEncode(payload);
+        Message<byte[]> json = null;
+        Message<byte[]> binary = null;
+        int sent = 0;
+        for (String username : usernames) {
+            Message<byte[]> message;
+            if (binaryForm && clientCodecs.isBinary(username)) {
+                if (binary == null) binary = encodeBinary(payload);
+                message = binary;
+            } else {
+                if (json == null) json = encode(payload);
+                message = json;
+            }
+            // Same escaping as SimpMessagingTemplate.convertAndSendToUser
+            messagingTemplate.send(prefix + username.replace("/", "%2F") + destination, message);
+            sent++;
+        }
+        logger.debug("Sent {} to {} users on {}", payload.getClass().getSimpleName(), sent, destination);
+    }
+}
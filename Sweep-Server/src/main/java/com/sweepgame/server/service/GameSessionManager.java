@@ -1,5 +1,6 @@
 package com.sweepgame.server.service;
 
+import com.sweepgame.game.GameFormat;
 import com.sweepgame.server.model.GameSession;
 import com.sweepgame.server.model.PlayerConnection;
 import org.slf4j.Logger;
@@ -16,10 +17,10 @@ public class GameSessionManager {
     private final Map<String, GameSession> activeSessions = new ConcurrentHashMap<>();
     private final Map<String, String> playerToSessionMap = new ConcurrentHashMap<>();
 
-    public GameSession createSession(boolean isRanked) {
-        GameSession session = new GameSession(isRanked);
+    public GameSession createSession(boolean isRanked, GameFormat format) {
+        GameSession session = new GameSession(isRanked, format);
         activeSessions.put(session.getSessionId(), session);
-        logger.info("Created new game session: {} (ranked: {})", session.getSessionId(), isRanked);
+        logger.info("Created new game session: {} (ranked: {}, format: {})", session.getSessionId(), isRanked, format);
         return session;
     }
 
@@ -70,7 +71,7 @@ public class GameSessionManager {
         }
 
         session.startGame();
-        logger.info("Session {} started", sessionId);
+        logger.info("Session {} started (seed: {})", sessionId, session.getGameLogic().getSeed());
     }
 
     public void finishSession(String sessionId) {
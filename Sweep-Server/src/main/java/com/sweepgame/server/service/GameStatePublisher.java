@@ -0,0 +1,257 @@
+package com.sweepgame.server.service;
+
+import com.sweepgame.game.Card;
+import com.sweepgame.game.CardMask;
+import com.sweepgame.game.GameSnapshot;
+import com.sweepgame.game.PlayerScore;
+import com.sweepgame.server.model.GameSession;
+import com.sweepgame.server.model.PlayerConnection;
+import com.sweepgame.server.model.dto.GameDeltaDTO;
+import com.sweepgame.server.model.dto.GameStateDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Sends game state to the recipients of a session. The first state after a game
+ * starts goes out in full on "/queue/game-state"; later ones only as a
+ * {@link GameDeltaDTO} against the last published state on "/queue/game-delta".
+ * Every publish bumps the session's state version, and a client that misses a
+ * version asks for the full state again with {@link #sendFull}.
+ * <p>
+ * Inside {@link #batch} publishes are held back and sent as one frame when the
+ * batch ends, so a move that also deals a new round and ends the game reaches the
+ * clients as a single delta instead of three.
+ * <p>
+ * Must run on the session's {@link SessionExecutor} stripe, so the published state
+ * and the order of deltas stay consistent.
+ */
+@Service
+public class GameStatePublisher {
+
+    public static final String STATE_DESTINATION = "/queue/game-state";
+    public static final String DELTA_DESTINATION = "/queue/game-delta";
+
+    @Autowired
+    private GameBroadcaster broadcaster;
+
+    public void publish(GameSession session) {
+        publish(session, null);
+    }
+
+    /**
+     * Publishes the current state of {@code session} with an optional status message,
+     * or marks it for the end of the open batch.
+     */
+    public void publish(GameSession session, String message) {
+        if (session.isBatchOpen()) {
+            session.setPublishPending(true);
+            if (message != null) {
+                session.setPendingMessage(message);
+            }
+            return;
+        }
+        send(session, message);
+    }
+
+    /**
+     * Runs {@code work}, the handling of one inbound message, and then publishes the
+     * state once if it published anything. Nested calls join the outer batch.
+     */
+    public void batch(GameSession session, Runnable work) {
+        if (session.isBatchOpen()) {
+            work.run();
+            return;
+        }
+        session.setBatchOpen(true);
+        try {
+            work.run();
+        } finally {
+            session.setBatchOpen(false);
+            if (session.isPublishPending()) {
+                String message = session.getPendingMessage();
+                session.setPublishPending(false);
+                session.setPendingMessage(null);
+                send(session, message);
+            }
+        }
+    }
+
+    private void send(GameSession session, String message) {
+        GameStateDTO next = buildGameState(session);
+        next.setMessage(message);
+        GameStateDTO prev = session.getPublishedState();
+
+        if (prev == null) {
+            next.setVersion(1);
+            session.setPublishedState(next);
+            broadcaster.sendToUsers(session.getRecipients(), STATE_DESTINATION, next);
+            return;
+        }
+
+        next.setVersion(prev.getVersion() + 1);
+        GameDeltaDTO delta = diff(prev, next);
+        if (delta == null) {
+            // Seats changed, the client has to start over from the full state
+            session.setPublishedState(next);
+            broadcaster.sendToUsers(session.getRecipients(), STATE_DESTINATION, next);
+        } else if (!isEmpty(delta)) {
+            delta.setVersion(next.getVersion());
+            session.setPublishedState(next);
+            broadcaster.sendToUsers(session.getRecipients(), DELTA_DESTINATION, delta);
+        }
+    }
+
+    /** Sends the last published state in full to one user: a new spectator or a resync. */
+    public void sendFull(GameSession session, String username) {
+        GameStateDTO state = session.getPublishedState();
+        if (state == null) {
+            state = buildGameState(session);
+        }
+        broadcaster.sendToUsers(Collections.singletonList(username), STATE_DESTINATION, state);
+    }
+
+    public GameStateDTO buildGameState(GameSession session) {
+        GameStateDTO dto = new GameStateDTO();
+        dto.setSessionId(session.getSessionId());
+        dto.setGameState(session.getState().name());
+        dto.setFormat(session.getFormat().getName());
+
+        if (session.getGameLogic() != null) {
+            // One immutable snapshot for the whole DTO, so it never mixes two moves
+            GameSnapshot snapshot = session.getGameLogic().snapshot();
+            int currentIndex = snapshot.getCurrentSeat();
+            dto.setCurrentPlayerIndex(currentIndex);
+            dto.setTableCards(snapshot.getTableCards());
+
+            List<GameStateDTO.PlayerStateDTO> playerStates = new ArrayList<>();
+            for (int i = 0; i < session.getPlayers().size() && i < snapshot.getSeats(); i++) {
+                PlayerConnection pc = session.getPlayers().get(i);
+                PlayerScore score = snapshot.getScore(i);
+
+                GameStateDTO.PlayerStateDTO ps = new GameStateDTO.PlayerStateDTO();
+                ps.setUsername(pc.getUsername());
+                ps.setHandSize(snapshot.getHand(i).size());
+                ps.setCollectedSize(score.getCards());
+                ps.setPoints(score.getPoints() + score.getBonus());
+                ps.setSweeps(score.getBrushes());
+                ps.setCurrentPlayer(i == currentIndex);
+                ps.setTeam(session.getFormat().teamOf(i));
+
+                playerStates.add(ps);
+            }
+            dto.setPlayers(playerStates);
+        }
+
+        return dto;
+    }
+
+    /**
+     * Changes from {@code prev} to {@code next}, or null if a delta cannot express
+     * them (players joined or left, or there was no game yet).
+     */
+    static GameDeltaDTO diff(GameStateDTO prev, GameStateDTO next) {
+        List<GameStateDTO.PlayerStateDTO> before = prev.getPlayers();
+        List<GameStateDTO.PlayerStateDTO> after = next.getPlayers();
+        if (before == null || after == null || before.size() != after.size()
+                || prev.getTableCards() == null || next.getTableCards() == null) {
+            return null;
+        }
+        for (int i = 0; i < before.size(); i++) {
+            if (!before.get(i).getUsername().equals(after.get(i).getUsername())) return null;
+        }
+
+        GameDeltaDTO delta = new GameDeltaDTO();
+        if (!Objects.equals(prev.getGameState(), next.getGameState())) {
+            delta.setGameState(next.getGameState());
+        }
+        if (prev.getCurrentPlayerIndex() != next.getCurrentPlayerIndex()) {
+            delta.setCurrentPlayerIndex(next.getCurrentPlayerIndex());
+        }
+        if (!Objects.equals(prev.getMessage(), next.getMessage())) {
+            delta.setMessage(next.getMessage());
+        }
+        diffTable(prev.getTableCards(), next.getTableCards(), delta);
+
+        List<GameDeltaDTO.PlayerDeltaDTO> players = new ArrayList<>();
+        for (int seat = 0; seat < after.size(); seat++) {
+            GameDeltaDTO.PlayerDeltaDTO pd = diffPlayer(seat, before.get(seat), after.get(seat));
+            if (pd != null) players.add(pd);
+        }
+        if (!players.isEmpty()) {
+            delta.setPlayers(players);
+        }
+        return delta;
+    }
+
+    private static void diffTable(List<Card> before, List<Card> after, GameDeltaDTO delta) {
+        long removed = CardMask.of(before) & ~CardMask.of(after);
+
+        // Moves only ever take cards off the table and put new ones at the end, so the
+        // cards that stayed normally lead the new table in their old order
+        int kept = 0;
+        for (Card card : before) {
+            if (CardMask.contains(removed, card.id())) continue;
+            if (kept >= after.size() || !after.get(kept).equals(card)) {
+                delta.setTable(ids(after, 0));
+                return;
+            }
+            kept++;
+        }
+
+        if (removed != 0) {
+            int[] ids = new int[Long.bitCount(removed)];
+            for (int i = 0; removed != 0; i++) {
+                ids[i] = Long.numberOfTrailingZeros(removed);
+                removed &= removed - 1;
+            }
+            delta.setTableRemoved(ids);
+        }
+        if (kept < after.size()) {
+            delta.setTableAdded(ids(after, kept));
+        }
+    }
+
+    private static int[] ids(List<Card> cards, int from) {
+        int[] ids = new int[cards.size() - from];
+        for (int i = from; i < cards.size(); i++) {
+            ids[i - from] = cards.get(i).id();
+        }
+        return ids;
+    }
+
+    private static GameDeltaDTO.PlayerDeltaDTO diffPlayer(int seat, GameStateDTO.PlayerStateDTO before,
+            GameStateDTO.PlayerStateDTO after) {
+        GameDeltaDTO.PlayerDeltaDTO pd = new GameDeltaDTO.PlayerDeltaDTO();
+        boolean changed = false;
+        if (before.getHandSize() != after.getHandSize()) {
+            pd.setHandSize(after.getHandSize());
+            changed = true;
+        }
+        if (before.getCollectedSize() != after.getCollectedSize()) {
+            pd.setCollectedSize(after.getCollectedSize());
+            changed = true;
+        }
+        if (before.getPoints() != after.getPoints()) {
+            pd.setPoints(after.getPoints());
+            changed = true;
+        }
+        if (before.getSweeps() != after.getSweeps()) {
+            pd.setSweeps(after.getSweeps());
+            changed = true;
+        }
+        if (!changed) return null;
+        pd.setSeat(seat);
+        return pd;
+    }
+
+    private static boolean isEmpty(GameDeltaDTO delta) {
+        return delta.getGameState() == null && delta.getCurrentPlayerIndex() == null
+                && delta.getTableRemoved() == null && delta.getTableAdded() == null && delta.getTable() == null
+                && delta.getPlayers() == null && delta.getMessage() == null;
+    }
+}
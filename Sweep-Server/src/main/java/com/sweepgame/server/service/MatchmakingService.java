@@ -1,5 +1,6 @@
 package com.sweepgame.server.service;
 
+import com.sweepgame.game.GameFormat;
 import com.sweepgame.server.model.GameSession;
 import com.sweepgame.server.model.PlayerConnection;
 import org.slf4j.Logger;
@@ -7,7 +8,9 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.Map;
 import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 
 @Service
@@ -17,37 +20,51 @@ public class MatchmakingService {
     @Autowired
     private GameSessionManager gameSessionManager;
 
-    private final Queue<PlayerConnection> casualQueue = new ConcurrentLinkedQueue<>();
-    private final Queue<PlayerConnection> rankedQueue = new ConcurrentLinkedQueue<>();
+    // One queue per (ranked, format), created on first use
+    private final Map<String, Queue<PlayerConnection>> queues = new ConcurrentHashMap<>();
 
-    public String joinQueue(PlayerConnection player, boolean isRanked) {
-        Queue<PlayerConnection> queue = isRanked ? rankedQueue : casualQueue;
+    private Queue<PlayerConnection> queue(boolean isRanked, GameFormat format) {
+        return queues.computeIfAbsent((isRanked ? "ranked/" : "casual/") + format.getName(),
+                key -> new ConcurrentLinkedQueue<>());
+    }
+
+    public String joinQueue(PlayerConnection player, boolean isRanked, GameFormat format) {
+        Queue<PlayerConnection> queue = queue(isRanked, format);
 
-        logger.info("Player {} joining {} queue", player.getUsername(), isRanked ? "ranked" : "casual");
+        logger.info("Player {} joining {} {} queue", player.getUsername(), isRanked ? "ranked" : "casual", format);
         queue.add(player);
 
         // Try to form a match
-        return tryFormMatch(isRanked);
+        return tryFormMatch(isRanked, format);
     }
 
     public void leaveQueue(String username) {
-        casualQueue.removeIf(p -> p.getUsername().equals(username));
-        rankedQueue.removeIf(p -> p.getUsername().equals(username));
+        for (Queue<PlayerConnection> queue : queues.values()) {
+            queue.removeIf(p -> p.getUsername().equals(username));
+        }
         logger.info("Player {} left matchmaking queue", username);
     }
 
-    private String tryFormMatch(boolean isRanked) {
-        Queue<PlayerConnection> queue = isRanked ? rankedQueue : casualQueue;
-        int currentSize = queue.size();
-        logger.debug("[MATCHMAKING] Checking queue (Ranked: {}). Current size: {}", isRanked, currentSize);
+    private String tryFormMatch(boolean isRanked, GameFormat format) {
+        Queue<PlayerConnection> queue = queue(isRanked, format);
+        int seats = format.getSeats();
+
+        // Polling under the queue lock so two joins cannot split one match between them
+        synchronized (queue) {
+            int currentSize = queue.size();
+            logger.debug("[MATCHMAKING] Checking {} queue (Ranked: {}). Current size: {}", format, isRanked, currentSize);
 
-        if (currentSize >= 3) {
-            logger.info("[MATCHMAKING] Threshold reached (3 players). Forming match...");
+            if (currentSize < seats) {
+                logger.debug("[MATCHMAKING] Not enough players yet. Need {}, have {}", seats, currentSize);
+                return null; // Not enough players yet
+            }
+
+            logger.info("[MATCHMAKING] Threshold reached ({} players). Forming {} match...", seats, format);
             // Create new game session
-            GameSession session = gameSessionManager.createSession(isRanked);
+            GameSession session = gameSessionManager.createSession(isRanked, format);
 
-            // Add 3 players to the session
-            for (int i = 0; i < 3; i++) {
+            // Seat players in queue order
+            for (int i = 0; i < seats; i++) {
                 PlayerConnection player = queue.poll();
                 if (player != null) {
                     logger.debug("[MATCHMAKING] Adding player {} to session {}", player.getUsername(),
@@ -56,25 +73,23 @@ public class MatchmakingService {
                 }
             }
 
-            logger.info("[MATCHMAKING] Match successfully formed! Session: {} (ranked: {})", session.getSessionId(),
-                    isRanked);
+            logger.info("[MATCHMAKING] Match successfully formed! Session: {} (ranked: {}, format: {})",
+                    session.getSessionId(), isRanked, format);
             return session.getSessionId();
-        } else {
-            logger.debug("[MATCHMAKING] Not enough players yet. Need 3, have {}", currentSize);
         }
-
-        return null; // Not enough players yet
     }
 
-    public int getQueueSize(boolean isRanked) {
-        return isRanked ? rankedQueue.size() : casualQueue.size();
+    public int getQueueSize(boolean isRanked, GameFormat format) {
+        return queue(isRanked, format).size();
     }
 
     public int getTotalQueueSize() {
-        return casualQueue.size() + rankedQueue.size();
+        int total = 0;
+        for (Queue<PlayerConnection> queue : queues.values()) total += queue.size();
+        return total;
     }
 
-    public java.util.List<PlayerConnection> getQueuePlayers(boolean isRanked) {
-        return new java.util.ArrayList<>(isRanked ? rankedQueue : casualQueue);
+    public java.util.List<PlayerConnection> getQueuePlayers(boolean isRanked, GameFormat format) {
+        return new java.util.ArrayList<>(queue(isRanked, format));
     }
 }
@@ -0,0 +1,81 @@
+package com.sweepgame.server.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the work of each game session one task at a time, in submission order, so a
+ * session's {@link com.sweepgame.game.SweepLogic} is only ever touched by one thread
+ * and needs no locks. Sessions are spread over a fixed set of single-thread stripes
+ * by session ID: one session always lands on the same stripe, different sessions
+ * run in parallel across stripes.
+ */
+@Service
+public class SessionExecutor {
+    private static final Logger logger = LoggerFactory.getLogger(SessionExecutor.class);
+
+    // 0 = one stripe per core
+    @Value("${sweep.session-executor.stripes:0}")
+    private int configuredStripes;
+
+    private ExecutorService[] stripes;
+
+    @PostConstruct
+    public void start() {
+        int count = configuredStripes > 0 ? configuredStripes : Runtime.getRuntime().availableProcessors();
+        stripes = new ExecutorService[count];
+        for (int i = 0; i < count; i++) {
+            String name = "session-" + i;
+            stripes[i] = Executors.newSingleThreadExecutor(r -> {
+                Thread t = new Thread(r, name);
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        logger.info("Session executor started with {} stripes", count);
+    }
+
+    /**
+     * Queues {@code task} behind every earlier task of the same session. Failures are
+     * logged and do not stop later tasks.
+     */
+    public void execute(String sessionId, Runnable task) {
+        stripes[stripe(sessionId)].execute(() -> {
+            try {
+                task.run();
+            } catch (Exception e) {
+                logger.error("Task for session {} failed", sessionId, e);
+            }
+        });
+    }
+
+    private int stripe(String sessionId) {
+        int h = sessionId.hashCode();
+        return ((h ^ (h >>> 16)) & Integer.MAX_VALUE) % stripes.length;
+    }
+
+    public int getStripeCount() {
+        return stripes.length;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        for (ExecutorService stripe : stripes) {
+            stripe.shutdown();
+        }
+        for (ExecutorService stripe : stripes) {
+            if (!stripe.awaitTermination(5, TimeUnit.SECONDS)) {
+                logger.warn("Session stripe did not finish its queue in time");
+                stripe.shutdownNow();
+            }
+        }
+    }
+}
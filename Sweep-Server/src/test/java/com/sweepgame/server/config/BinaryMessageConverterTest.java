@@ -0,0 +1,107 @@
+package com.sweepgame.server.config;
+
+import com.sweepgame.game.Card;
+import com.sweepgame.server.model.dto.GameDeltaDTO;
+import com.sweepgame.server.model.dto.GameStateDTO;
+import com.sweepgame.server.model.dto.MoveDTO;
+import com.sweepgame.server.model.dto.QueueStatusDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Encodes the frames pinned by game-logic's WireFormatTest; the client decoder is checked against the same bytes. */
+class BinaryMessageConverterTest {
+
+    // Same bytes as WireFormatTest.GAME_STATE_FRAME and GAME_DELTA_FRAME
+    private static final String GAME_STATE_FRAME =
+            "01 01 03 73 31 05 0c 49 4e 5f 50 52 4f 47 52 45 53 53 03 33 70 01 02 00 27 01 04 61 6e 61 03 00 c8 01 01 00 00";
+    private static final String GAME_DELTA_FRAME = "01 02 06 6e 02 01 05 02 07 08 01 01 05 02 03 03 68 69";
+    private static final String QUEUE_STATUS_FRAME = "01 03 08 77 61 69 74 69 6e 67 02 04 32 76 32 04";
+    private static final String MOVE_FRAME = "01 04 03 73 31 02 02 00 03";
+
+    private final BinaryMessageConverter converter = new BinaryMessageConverter();
+
+    @Test
+    void encodesGameState() {
+        GameStateDTO state = new GameStateDTO();
+        state.setSessionId("s1");
+        state.setVersion(5);
+        state.setGameState("IN_PROGRESS");
+        state.setFormat("3p");
+        state.setCurrentPlayerIndex(1);
+        state.setTableCards(Arrays.asList(Card.byId(0), Card.byId(39)));
+        GameStateDTO.PlayerStateDTO ana = new GameStateDTO.PlayerStateDTO();
+        ana.setUsername("ana");
+        ana.setHandSize(3);
+        ana.setCollectedSize(0);
+        ana.setPoints(200);
+        ana.setSweeps(1);
+        ana.setTeam(0);
+        state.setPlayers(Collections.singletonList(ana));
+
+        assertArrayEquals(hex(GAME_STATE_FRAME), converter.encode(state));
+    }
+
+    @Test
+    void encodesGameDelta() {
+        GameDeltaDTO delta = new GameDeltaDTO();
+        delta.setVersion(6);
+        delta.setCurrentPlayerIndex(2);
+        delta.setTableRemoved(new int[] {5});
+        delta.setTableAdded(new int[] {7, 8});
+        GameDeltaDTO.PlayerDeltaDTO seat = new GameDeltaDTO.PlayerDeltaDTO();
+        seat.setSeat(1);
+        seat.setHandSize(2);
+        seat.setPoints(3);
+        delta.setPlayers(Collections.singletonList(seat));
+        delta.setMessage("hi");
+
+        assertArrayEquals(hex(GAME_DELTA_FRAME), converter.encode(delta));
+    }
+
+    @Test
+    void encodesQueueStatus() {
+        assertArrayEquals(hex(QUEUE_STATUS_FRAME), converter.encode(new QueueStatusDTO("waiting", 2, "2v2", 4)));
+    }
+
+    @Test
+    void decodesMove() {
+        MoveDTO move = (MoveDTO) converter.decode(hex(MOVE_FRAME));
+        assertEquals("s1", move.getSessionId());
+        assertEquals(2, move.getHandCardIndex());
+        assertEquals(Arrays.asList(0, 3), move.getTableCardIndices());
+    }
+
+    @Test
+    void onlyProtocolMessagesHaveABinaryForm() {
+        assertTrue(converter.canEncode(new QueueStatusDTO()));
+        assertFalse(converter.canEncode(new MoveDTO()));
+        assertFalse(converter.canEncode(Collections.singletonMap("status", "waiting")));
+        assertThrows(IllegalArgumentException.class, () -> converter.encode("text"));
+    }
+
+    @Test
+    void rejectsOtherTagsAndTruncatedMoves() {
+        assertThrows(IllegalArgumentException.class, () -> converter.decode(hex(GAME_DELTA_FRAME)));
+        List<String> parts = Arrays.asList(MOVE_FRAME.split(" "));
+        String truncated = String.join(" ", parts.subList(0, parts.size() - 1));
+        assertThrows(IllegalArgumentException.class, () -> converter.decode(hex(truncated)));
+    }
+
+    private static byte[] hex(String frame) {
+        String[] parts = frame.trim().split(" +");
+        byte[] bytes = new byte[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            bytes[i] = (byte) Integer.parseInt(parts[i], 16);
+        }
+        return bytes;
+    }
+}